@@ -32,6 +32,8 @@ import org.polyglotter.common.I18n;
 public class XsdModelerI18n {
 
     public static I18n errorImportingXsdDependencyArtifact = new I18n( "Error uploading XSD dependency from '%s' for node '%s'" );
+    public static I18n relativeXsdDependencyOutsideArtifactFolder =
+        new I18n( "The relative XSD dependency '%s' of model node '%s' is outside of the folder its artifact was imported to" );
     public static I18n schemaNodeNotFound =
         new I18n( "The sequencer produced XSD schema node under the file node was not found for model node '%s'" );
 
@@ -27,10 +27,12 @@ import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.Property;
+import javax.jcr.Session;
 
 import org.modeshape.common.util.StringUtil;
 import org.modeshape.modeler.ModelType;
@@ -224,9 +226,6 @@ public final class XsdDependencyProcessor implements DependencyProcessor {
                         final String[] pathSegments = path.split( "/" );
                         final List< String > commonPath = new ArrayList<>();
 
-                        final Node artifactNode = node.getSession().getNode( artifactPath );
-                        final String[] artifactSegments = artifactNode.getPath().split( "/" ); // TODO use this
-
                         // find common parent path between schema location and model's external location
                         for ( int i = 0; i < extLocSegments.length; ++i ) {
                             if ( i < pathSegments.length ) {
@@ -291,7 +290,6 @@ public final class XsdDependencyProcessor implements DependencyProcessor {
                 uploadMissingDependencies( artifactPath, modelNode, pathsToMissingDependencies, modeler, persistArtifacts );
             }
 
-            modelNode.getSession().save();
             return dependenciesNode.getPath();
         } catch ( final Exception e ) {
             throw new ModelerException( e );
@@ -320,7 +318,12 @@ public final class XsdDependencyProcessor implements DependencyProcessor {
         String externalLocation = modelNode.getProperty( ModelerLexicon.EXTERNAL_LOCATION ).getString();
         externalLocation = externalLocation.substring( 0, ( externalLocation.lastIndexOf( "/" ) ) );
 
-        final String artifactDir = artifactPath.substring( 0, ( artifactPath.lastIndexOf( "/" ) ) );
+        // Without a stored artifact, import dependency artifacts into their own temporary folder, above which relative dependencies
+        // must not navigate
+        final String artifactDir = artifactPath == null
+                                                       ? '/' + ModelerLexicon.TEMP_FOLDER + '/' + UUID.randomUUID()
+                                                       : artifactPath.substring( 0, ( artifactPath.lastIndexOf( "/" ) ) );
+        final int maxParentDirs = artifactPath == null ? 0 : artifactDir.split( "/" ).length - 1;
 
         for ( final MissingDependency missingDependency : missingDependencies ) {
             String extPath;
@@ -328,13 +331,18 @@ public final class XsdDependencyProcessor implements DependencyProcessor {
             String modelPath;
 
             if ( missingDependency.isRelative() ) {
+                if ( missingDependency.numParentDirs > maxParentDirs ) {
+                    LOGGER.error( XsdModelerI18n.relativeXsdDependencyOutsideArtifactFolder, missingDependency.path, modelName );
+                    continue;
+                }
+
                 artifactLocation = artifactDir;
                 String location = externalLocation;
                 int numParentDirs = missingDependency.numParentDirs;
 
                 // navigate up parent dirs if necessary
                 while ( numParentDirs > 0 ) {
-                    location = location.substring( 0, ( externalLocation.lastIndexOf( "/" ) ) );
+                    location = location.substring( 0, ( location.lastIndexOf( "/" ) ) );
                     artifactLocation = artifactLocation.substring( 0, ( artifactLocation.lastIndexOf( "/" ) ) );
                     --numParentDirs;
                 }
@@ -372,6 +380,13 @@ public final class XsdDependencyProcessor implements DependencyProcessor {
                 LOGGER.error( e, XsdModelerI18n.errorImportingXsdDependencyArtifact, extPath, modelName );
             }
         }
+
+        // Remove the temporary folder created for the dependency artifacts once they have all been removed
+        if ( artifactPath == null ) {
+            final Session session = modelNode.getSession();
+            if ( session.nodeExists( artifactDir ) && !session.getNode( artifactDir ).hasNodes() )
+                session.getNode( artifactDir ).remove();
+        }
     }
 
     private static class MissingDependency {
@@ -0,0 +1,95 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.xsd.dependency;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+
+import javax.jcr.Session;
+
+import org.junit.Test;
+import org.modeshape.modeler.Batch;
+import org.modeshape.modeler.Model;
+import org.modeshape.modeler.ModelType;
+import org.modeshape.modeler.Modeler;
+import org.modeshape.modeler.internal.ModelerLexicon;
+import org.modeshape.modeler.internal.Task;
+import org.modeshape.modeler.xsd.test.XsdBaseTest;
+
+@SuppressWarnings( "javadoc" )
+public class XsdDependencyProcessorTest extends XsdBaseTest {
+
+    private void assertTemporaryFolderEmpty() throws Exception {
+        manager().run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                final String path = '/' + ModelerLexicon.TEMP_FOLDER;
+                assertThat( !session.nodeExists( path ) || !session.getNode( path ).hasNodes(), is( true ) );
+                return null;
+            }
+        } );
+    }
+
+    private void install() throws Exception {
+        modelTypeManager().install( SRAMP_MODEL_TYPE_CATEGORY );
+        modelTypeManager().install( XSD_MODEL_TYPE_CATEGORY );
+    }
+
+    @Test
+    public void shouldDiscardModelsAndDependenciesOfFailedBatch() throws Exception {
+        install();
+        final ModelType type = modelTypeManager().modelType( XSD_MODEL_TYPE_ID );
+        try {
+            modeler().batch( new Batch() {
+
+                @Override
+                public void run( final Modeler modeler ) throws Exception {
+                    modeler.generateModel( new File( "src/test/resources/Movies/Movies.xsd" ), null, type );
+                    assertThat( modeler.model( "MovieDatatypes.xsd" ), notNullValue() );
+                    throw new IllegalStateException();
+                }
+            } );
+            fail();
+        } catch ( final IllegalStateException expected ) {}
+        assertThat( modeler().model( "Movies.xsd" ), nullValue() );
+        assertThat( modeler().model( "MovieDatatypes.xsd" ), nullValue() );
+    }
+
+    @Test
+    public void shouldGenerateModelWithSiblingInclude() throws Exception {
+        install();
+        final Model model = modeler().generateModel( new File( "src/test/resources/Library/Library.xsd" ),
+                                                     null,
+                                                     modelTypeManager().modelType( XSD_MODEL_TYPE_ID ) );
+        assertThat( model, notNullValue() );
+        assertThat( modeler().model( "LibraryTypes.xsd" ), notNullValue() );
+        assertTemporaryFolderEmpty();
+    }
+}
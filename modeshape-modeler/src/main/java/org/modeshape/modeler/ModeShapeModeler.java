@@ -31,14 +31,26 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import javax.jcr.Node;
 import javax.jcr.PathNotFoundException;
+import javax.jcr.Property;
 import javax.jcr.Session;
 
 import org.modeshape.common.util.CheckArg;
 import org.modeshape.jcr.JcrLexicon;
+import org.modeshape.jcr.api.Binary;
 import org.modeshape.jcr.api.JcrTools;
 import org.modeshape.jcr.api.ValueFactory;
 import org.modeshape.jcr.api.sequencer.Sequencer;
@@ -47,6 +59,7 @@ import org.modeshape.modeler.internal.Manager;
 import org.modeshape.modeler.internal.ModelImpl;
 import org.modeshape.modeler.internal.ModelTypeImpl;
 import org.modeshape.modeler.internal.ModelerLexicon;
+import org.modeshape.modeler.internal.SpooledBinary;
 import org.modeshape.modeler.internal.Task;
 import org.polyglotter.common.Logger;
 
@@ -57,6 +70,8 @@ public final class ModeShapeModeler implements Modeler {
 
     final Manager manager;
 
+    private volatile boolean temporaryFolderCreated;
+
     /**
      * Uses a default ModeShape configuration.
      * 
@@ -92,6 +107,31 @@ public final class ModeShapeModeler implements Modeler {
         return path.endsWith( "/" ) ? path + name : path + '/' + name;
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#batch(Batch)
+     */
+    @Override
+    public void batch( final Batch batch ) throws ModelerException {
+        CheckArg.isNotNull( batch, "batch" );
+        manager.runBatch( Collections.singletonList( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                batch.run( ModeShapeModeler.this );
+                return null;
+            }
+        } ) );
+    }
+
+    /**
+     * @return the number of saves deferred by a {@link #batch(Batch) batch} before its changes are automatically saved
+     */
+    public int batchFlushSize() {
+        return manager.batchFlushSize();
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -149,6 +189,49 @@ public final class ModeShapeModeler implements Modeler {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#exportAsync(Model, File)
+     */
+    @Override
+    public Future< Void > exportAsync( final Model model,
+                                       final File file ) {
+        return submit( new Callable< Void >() {
+
+            @Override
+            public Void call() throws Exception {
+                export( model, file );
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#exportAsync(Model, OutputStream)
+     */
+    @Override
+    public Future< Void > exportAsync( final Model model,
+                                       final OutputStream stream ) {
+        return submit( new Callable< Void >() {
+
+            @Override
+            public Void call() throws Exception {
+                export( model, stream );
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * @return the executor used to run this modeler's asynchronous operations; never <code>null</code>
+     */
+    public ExecutorService executor() {
+        return manager.executor();
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -199,8 +282,21 @@ public final class ModeShapeModeler implements Modeler {
     public Model generateModel( final InputStream stream,
                                 final String modelPath,
                                 final ModelType modelType ) throws ModelerException {
-        final String artifactPath = importArtifact( stream, ModelerLexicon.TEMP_FOLDER + "/file" );
-        return generateModel( artifactPath, modelPath, modelType, false );
+        CheckArg.isNotNull( stream, "stream" );
+        CheckArg.isNotEmpty( modelPath, "modelPath" );
+        if ( !sequencesDetachedInput( modelType ) ) return generateModel( stream, "file", null, modelPath, modelType );
+        // Sequence the content directly from a spool outside the repository, rather than storing it as a temporary artifact
+        try ( SpooledBinary binary = new SpooledBinary( stream ) ) {
+            return manager.run( new Task< Model >() {
+
+                @Override
+                public Model run( final Session session ) throws Exception {
+                    return sequence( session, binary.property(), null, null, modelPath, ( ModelTypeImpl ) modelType, false, null );
+                }
+            } );
+        } catch ( final IOException e ) {
+            throw new ModelerException( e );
+        }
     }
 
     /**
@@ -223,56 +319,69 @@ public final class ModeShapeModeler implements Modeler {
                 @Override
                 public Model run( final Session session ) throws Exception {
                     final Node artifactNode = manager.artifactNode( session, artifactPath );
-                    ModelType type = modelType;
-                    if ( modelType == null ) {
-                        // If no model type supplied, use default model type if one exists
-                        type = manager.modelTypeManager().defaultModelType( artifactNode,
-                                                                            manager.modelTypeManager().modelTypes( artifactNode ) );
-                        if ( type == null )
-                            throw new IllegalArgumentException( ModelerI18n.unableToDetermineDefaultModelType.text( artifactPath ) );
-                        throw new UnsupportedOperationException( "Not yet implemented" );
-                    }
-                    // Build the model
-                    final ValueFactory valueFactory = ( ValueFactory ) session.getValueFactory();
-                    final Calendar cal = Calendar.getInstance();
-                    final ModelTypeImpl modelType = ( ModelTypeImpl ) type;
-                    final Node modelNode = new JcrTools().findOrCreateNode( session, absolutePath( modelPath ) );
-                    modelNode.addMixin( ModelerLexicon.MODEL_MIXIN );
-                    if ( artifactNode.hasProperty( ModelerLexicon.EXTERNAL_LOCATION ) )
-                        modelNode.setProperty( ModelerLexicon.EXTERNAL_LOCATION,
-                                               artifactNode.getProperty( ModelerLexicon.EXTERNAL_LOCATION ).getString() );
-                    final boolean save = modelType.sequencer().execute( artifactNode.getNode( JcrLexicon.CONTENT.getString() )
-                                                                                    .getProperty( JcrLexicon.DATA.getString() ),
-                                                                        modelNode,
-                                                                        new Sequencer.Context() {
-
-                                                                            @Override
-                                                                            public Calendar getTimestamp() {
-                                                                                return cal;
-                                                                            }
-
-                                                                            @Override
-                                                                            public ValueFactory valueFactory() {
-                                                                                return valueFactory;
-                                                                            }
-                                                                        } );
-                    if ( save ) {
-                        modelNode.setProperty( ModelerLexicon.MODEL_TYPE, modelType.id() );
-                        final ModelImpl model = new ModelImpl( manager, modelNode.getPath() );
-                        session.save();
-                        processDependencies( artifactPath, modelNode, model, persistArtifact );
-                        return model;
-                    }
-                    throw new ModelerException( ModelerI18n.sessionNotSavedWhenCreatingModel, artifactPath );
+                    // Remove a temporary artifact in the same save that creates the model
+                    final Node temporaryNode = persistArtifact ? null : artifactNode;
+                    return generateModel( session, artifactNode, modelPath, modelType, persistArtifact, temporaryNode );
+                }
+            } );
+        } catch ( final ModelerException | RuntimeException e ) {
+            if ( !persistArtifact ) removeTemporaryArtifact( artifactPath );
+            throw e;
+        }
+    }
+
+    /**
+     * Imports the supplied content as a temporary artifact, generates a model from it, and removes the artifact, all within one
+     * session and one save.
+     */
+    private Model generateModel( final InputStream stream,
+                                 final String artifactName,
+                                 final String externalLocation,
+                                 final String modelPath,
+                                 final ModelType modelType ) throws ModelerException {
+        final String folder = temporaryFolder();
+        try {
+            return manager.run( new Task< Model >() {
+
+                @Override
+                public Model run( final Session session ) throws Exception {
+                    final Node artifactNode = upload( session, stream, absolutePath( folder, artifactName ), externalLocation );
+                    // Remove the per-call temporary folder, along with the artifact, in the same save that creates the model
+                    return generateModel( session, artifactNode, modelPath, modelType, false, artifactNode.getParent() );
                 }
             } );
         } finally {
-            if ( !persistArtifact ) {
-                removeTemporaryArtifact( artifactPath );
-            }
+            // Dependency artifacts may have been imported into the folder after the model was created
+            removeTemporaryFolder( folder );
         }
     }
 
+    private Model generateModel( final Session session,
+                                 final Node artifactNode,
+                                 final String modelPath,
+                                 final ModelType modelType,
+                                 final boolean persistArtifact,
+                                 final Node temporaryNode ) throws Exception {
+        final String artifactPath = artifactNode.getPath();
+        ModelType type = modelType;
+        if ( modelType == null ) {
+            // If no model type supplied, use default model type if one exists
+            type = manager.modelTypeManager().defaultModelType( artifactNode, manager.modelTypeManager().modelTypes( artifactNode ) );
+            if ( type == null ) throw new IllegalArgumentException( ModelerI18n.unableToDetermineDefaultModelType.text( artifactPath ) );
+        }
+        final String externalLocation =
+            artifactNode.hasProperty( ModelerLexicon.EXTERNAL_LOCATION )
+                            ? artifactNode.getProperty( ModelerLexicon.EXTERNAL_LOCATION ).getString() : null;
+        return sequence( session,
+                         artifactNode.getNode( JcrLexicon.CONTENT.getString() ).getProperty( JcrLexicon.DATA.getString() ),
+                         artifactPath,
+                         externalLocation,
+                         modelPath,
+                         ( ModelTypeImpl ) type,
+                         persistArtifact,
+                         temporaryNode );
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -295,32 +404,147 @@ public final class ModeShapeModeler implements Modeler {
                                 final String modelFolder,
                                 final String modelName,
                                 final ModelType modelType ) throws ModelerException {
-        final String artifactPath = importArtifact( artifactUrl, ModelerLexicon.TEMP_FOLDER );
-        return generateModel( artifactPath, absolutePath( modelFolder, name( modelName, artifactUrl ) ), modelType, false );
+        CheckArg.isNotNull( artifactUrl, "artifactUrl" );
+        final String modelPath = absolutePath( modelFolder, name( modelName, artifactUrl ) );
+        try ( InputStream stream = artifactUrl.openStream() ) {
+            // The default model type is determined from the artifact's MIME type, and sequencers not known to only read their input's
+            // value may navigate from it, so both need the content stored as a temporary artifact
+            if ( !sequencesDetachedInput( modelType ) )
+                return generateModel( stream, name( null, artifactUrl ), artifactUrl.toString(), modelPath, modelType );
+            // Otherwise sequence the content directly from a spool, avoiding the repository writes of a temporary artifact
+            try ( SpooledBinary binary = new SpooledBinary( stream ) ) {
+                return manager.run( new Task< Model >() {
+
+                    @Override
+                    public Model run( final Session session ) throws Exception {
+                        return sequence( session,
+                                         binary.property(),
+                                         null,
+                                         artifactUrl.toString(),
+                                         modelPath,
+                                         ( ModelTypeImpl ) modelType,
+                                         false,
+                                         null );
+                    }
+                } );
+            }
+        } catch ( final FileNotFoundException e ) {
+            throw new IllegalArgumentException( e );
+        } catch ( final IOException e ) {
+            throw new ModelerException( e );
+        }
     }
 
     /**
      * {@inheritDoc}
      * 
-     * @see Modeler#importArtifact(InputStream, String)
+     * @see Modeler#generateModelAsync(InputStream, String, ModelType)
      */
     @Override
-    public String importArtifact( final InputStream stream,
-                                  final String workspacePath ) throws ModelerException {
-        CheckArg.isNotNull( stream, "stream" );
-        CheckArg.isNotEmpty( workspacePath, "workspacePath" );
-        return manager.run( new Task< String >() {
+    public Future< Model > generateModelAsync( final InputStream stream,
+                                               final String modelPath,
+                                               final ModelType modelType ) {
+        return submit( new Callable< Model >() {
 
             @Override
-            public String run( final Session session ) throws Exception {
-                // Ensure the path is non-null, absolute, and ends with a slash
-                final Node node = new JcrTools().uploadFile( session, absolutePath( workspacePath ), stream );
-                // Add unstructured mix-in to allow node to contain anything else, like models created later
-                node.addMixin( ModelerLexicon.UNSTRUCTURED_MIXIN );
+            public Model call() throws Exception {
+                return generateModel( stream, modelPath, modelType );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#generateModelAsync(String, String, ModelType, boolean)
+     */
+    @Override
+    public Future< Model > generateModelAsync( final String artifactPath,
+                                               final String modelPath,
+                                               final ModelType modelType,
+                                               final boolean persistArtifacts ) {
+        return submit( new Callable< Model >() {
+
+            @Override
+            public Model call() throws Exception {
+                return generateModel( artifactPath, modelPath, modelType, persistArtifacts );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#generateModelAsync(URL, String, String, ModelType)
+     */
+    @Override
+    public Future< Model > generateModelAsync( final URL artifactUrl,
+                                               final String modelFolder,
+                                               final String modelName,
+                                               final ModelType modelType ) {
+        return submit( new Callable< Model >() {
+
+            @Override
+            public Model call() throws Exception {
+                return generateModel( artifactUrl, modelFolder, modelName, modelType );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#generateModels(Collection)
+     */
+    @Override
+    public List< Future< Model > > generateModels( final Collection< ModelGenerationJob > jobs ) throws ModelerException {
+        CheckArg.isNotNull( jobs, "jobs" );
+        // Create the models' parent folders up front so that parallel jobs never race to create the same nodes
+        final Set< String > folders = new HashSet<>();
+        for ( final ModelGenerationJob job : jobs ) {
+            final String modelPath = absolutePath( job.modelPath() );
+            final int ndx = modelPath.lastIndexOf( '/' );
+            if ( ndx > 0 ) folders.add( modelPath.substring( 0, ndx ) );
+        }
+        if ( !folders.isEmpty() ) manager.run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                final JcrTools tools = new JcrTools();
+                for ( final String folder : folders )
+                    tools.findOrCreateNode( session, folder );
                 session.save();
-                return node.getPath();
+                return null;
             }
         } );
+        final List< Callable< Model > > tasks = new ArrayList<>( jobs.size() );
+        for ( final ModelGenerationJob job : jobs )
+            tasks.add( new Callable< Model >() {
+
+                @Override
+                public Model call() throws Exception {
+                    return generateModel( job.artifactPath(), job.modelPath(), job.modelType(), job.persistArtifact() );
+                }
+            } );
+        try {
+            return manager.invokeAll( tasks );
+        } catch ( final InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new ModelerException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#importArtifact(InputStream, String)
+     */
+    @Override
+    public String importArtifact( final InputStream stream,
+                                  final String workspacePath ) throws ModelerException {
+        CheckArg.isNotNull( stream, "stream" );
+        CheckArg.isNotEmpty( workspacePath, "workspacePath" );
+        return upload( stream, workspacePath, null );
     }
 
     /**
@@ -344,10 +568,8 @@ public final class ModeShapeModeler implements Modeler {
                                   final String workspaceFolder,
                                   final String workspaceName ) throws ModelerException {
         CheckArg.isNotNull( url, "url" );
-        try {
-            final String path = importArtifact( url.openStream(), absolutePath( workspaceFolder, name( workspaceName, url ) ) );
-            saveExternalLocation( path, url.toString() );
-            return path;
+        try ( InputStream stream = url.openStream() ) {
+            return upload( stream, absolutePath( workspaceFolder, name( workspaceName, url ) ), url.toString() );
         } catch ( final FileNotFoundException e ) {
             throw new IllegalArgumentException( e );
         } catch ( final IOException e ) {
@@ -355,6 +577,41 @@ public final class ModeShapeModeler implements Modeler {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#importArtifactAsync(InputStream, String)
+     */
+    @Override
+    public Future< String > importArtifactAsync( final InputStream stream,
+                                                 final String workspacePath ) {
+        return submit( new Callable< String >() {
+
+            @Override
+            public String call() throws Exception {
+                return importArtifact( stream, workspacePath );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Modeler#importArtifactAsync(URL, String, String)
+     */
+    @Override
+    public Future< String > importArtifactAsync( final URL url,
+                                                 final String workspaceFolder,
+                                                 final String workspaceName ) {
+        return submit( new Callable< String >() {
+
+            @Override
+            public String call() throws Exception {
+                return importArtifact( url, workspaceFolder, workspaceName );
+            }
+        } );
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -400,7 +657,7 @@ public final class ModeShapeModeler implements Modeler {
                     final Node node = session.getNode( absPath );
                     if ( !node.isNodeType( ModelerLexicon.MODEL_MIXIN ) )
                         throw new IllegalArgumentException( ModelerI18n.notModelPath.text( absPath ) );
-                    return new ModelImpl( manager, absPath );
+                    return new ModelImpl( manager, absPath, node.getIdentifier() );
                 } catch ( final PathNotFoundException e ) {
                     return null;
                 }
@@ -438,9 +695,9 @@ public final class ModeShapeModeler implements Modeler {
 
     void processDependencies( final String artifactPath,
                               final Node modelNode,
-                              final ModelImpl model,
+                              final ModelTypeImpl modelType,
                               final boolean persistArtifacts ) throws Exception {
-        final DependencyProcessor dependencyProcessor = model.dependencyProcessor();
+        final DependencyProcessor dependencyProcessor = modelType.dependencyProcessor();
         if ( dependencyProcessor == null ) {
             Logger.getLogger( getClass() ).debug( "No dependency processor found for model '%s'", modelNode.getName() );
         } else {
@@ -453,7 +710,35 @@ public final class ModeShapeModeler implements Modeler {
 
             @Override
             public Void run( final Session session ) throws Exception {
-                session.getNode( artifactPath ).remove();
+                // Only remove the artifact, since dependency artifacts may have been imported into the same temporary folder. The
+                // artifact may already have been removed along with a model that was created before a later step failed.
+                final String path = absolutePath( artifactPath );
+                if ( !session.nodeExists( path ) ) return null;
+                session.getNode( path ).remove();
+                session.save();
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * Removes the supplied per-call temporary folder if it still exists. The folder is normally removed in the same save that creates
+     * its model, but dependency artifacts may later be imported into it, and within a {@link #batch(Batch) batch} a failed operation
+     * may leave its unsaved artifact there. Since each folder is used by a single call, anything left in it is no longer needed.
+     * 
+     * @param folder
+     *        a folder returned by {@link #temporaryFolder()}
+     * @throws ModelerException
+     *         if any problem occurs
+     */
+    private void removeTemporaryFolder( final String folder ) throws ModelerException {
+        manager.run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                final String path = absolutePath( folder );
+                if ( !session.nodeExists( path ) ) return null;
+                session.getNode( path ).remove();
                 session.save();
                 return null;
             }
@@ -470,16 +755,167 @@ public final class ModeShapeModeler implements Modeler {
         return System.getProperty( Manager.REPOSITORY_STORE_PARENT_PATH_PROPERTY );
     }
 
-    private void saveExternalLocation( final String path,
-                                       final String location ) throws ModelerException {
-        manager.run( new Task< Void >() {
+    Model sequence( final Session session,
+                    final Property data,
+                    final String artifactPath,
+                    final String externalLocation,
+                    final String modelPath,
+                    final ModelTypeImpl modelType,
+                    final boolean persistArtifact,
+                    final Node temporaryNode ) throws Exception {
+        final ValueFactory valueFactory = ( ValueFactory ) session.getValueFactory();
+        final Calendar cal = Calendar.getInstance();
+        final Node modelNode = new JcrTools().findOrCreateNode( session, absolutePath( modelPath ) );
+        modelNode.addMixin( ModelerLexicon.MODEL_MIXIN );
+        if ( externalLocation != null ) modelNode.setProperty( ModelerLexicon.EXTERNAL_LOCATION, externalLocation );
+        final boolean save = modelType.sequencer().execute( data, modelNode, new Sequencer.Context() {
 
             @Override
-            public Void run( final Session session ) throws Exception {
-                session.getNode( path ).setProperty( ModelerLexicon.EXTERNAL_LOCATION, location );
+            public Calendar getTimestamp() {
+                return cal;
+            }
+
+            @Override
+            public ValueFactory valueFactory() {
+                return valueFactory;
+            }
+        } );
+        if ( save ) {
+            modelNode.setProperty( ModelerLexicon.MODEL_TYPE, modelType.id() );
+            final ModelImpl model = new ModelImpl( manager, modelNode.getPath(), modelNode.getIdentifier() );
+            if ( temporaryNode != null ) temporaryNode.remove();
+            session.save();
+            processDependencies( artifactPath, modelNode, modelType, persistArtifact );
+            // Save the processor's changes through this task's session, so within a batch they are deferred with the model's
+            session.save();
+            return model;
+        }
+        throw new ModelerException( ModelerI18n.sessionNotSavedWhenCreatingModel, artifactPath == null ? modelPath : artifactPath );
+    }
+
+    private boolean sequencesDetachedInput( final ModelType modelType ) {
+        return modelType instanceof ModelTypeImpl && ( ( ModelTypeImpl ) modelType ).sequencesDetachedInput();
+    }
+
+    /**
+     * @return the maximum number of sessions pooled per workspace
+     */
+    public int sessionPoolSize() {
+        return manager.sessionPoolSize();
+    }
+
+    /**
+     * @return the number of milliseconds to wait for a pooled session to become available before an operation fails
+     */
+    public long sessionPoolWaitTimeout() {
+        return manager.sessionPoolWaitTimeout();
+    }
+
+    /**
+     * @param batchFlushSize
+     *        the number of saves deferred by a {@link #batch(Batch) batch} before its changes are automatically saved; must be
+     *        positive. Default is {@value Manager#DEFAULT_BATCH_FLUSH_SIZE}.
+     */
+    public void setBatchFlushSize( final int batchFlushSize ) {
+        manager.setBatchFlushSize( batchFlushSize );
+    }
+
+    /**
+     * Replaces the executor used to run this modeler's asynchronous operations. By default, a fixed pool of daemon threads sized to
+     * the {@link #sessionPoolSize() session pool} is used, so asynchronous operations never contend for more sessions than exist.
+     * On runtimes that provide lightweight (e.g., virtual) threads, a thread-per-task executor may be supplied instead. The caller
+     * remains responsible for shutting down a supplied executor.
+     * 
+     * @param executor
+     *        the executor used to run asynchronous operations; must not be <code>null</code>.
+     */
+    public void setExecutor( final ExecutorService executor ) {
+        manager.setExecutor( executor );
+    }
+
+    /**
+     * Must be called before this modeler first accesses its repository.
+     * 
+     * @param sessionPoolSize
+     *        the maximum number of sessions pooled per workspace; must be positive. Default is
+     *        {@value Manager#DEFAULT_SESSION_POOL_SIZE}.
+     */
+    public void setSessionPoolSize( final int sessionPoolSize ) {
+        manager.setSessionPoolSize( sessionPoolSize );
+    }
+
+    /**
+     * Must be called before this modeler first accesses its repository.
+     * 
+     * @param sessionPoolWaitTimeout
+     *        the number of milliseconds to wait for a pooled session to become available before an operation fails; must not be
+     *        negative. Default is {@value Manager#DEFAULT_SESSION_POOL_WAIT_TIMEOUT}.
+     */
+    public void setSessionPoolWaitTimeout( final long sessionPoolWaitTimeout ) {
+        manager.setSessionPoolWaitTimeout( sessionPoolWaitTimeout );
+    }
+
+    private < T > Future< T > submit( final Callable< T > callable ) {
+        return manager.submit( callable );
+    }
+
+    /**
+     * @return a new, uniquely-named folder under the {@link ModelerLexicon#TEMP_FOLDER temporary folder}, so that temporary artifacts
+     *         imported by concurrent callers never collide
+     * @throws ModelerException
+     *         if the temporary folder cannot be created
+     */
+    private String temporaryFolder() throws ModelerException {
+        if ( !temporaryFolderCreated ) {
+            synchronized ( this ) {
+                if ( !temporaryFolderCreated ) {
+                    // Create the shared parent once, so concurrent uploads never create same-name siblings of it. Within a batch the
+                    // save may be deferred and later discarded, so only remember the folder once it has actually been persisted.
+                    temporaryFolderCreated = manager.run( new Task< Boolean >() {
+
+                        @Override
+                        public Boolean run( final Session session ) throws Exception {
+                            new JcrTools().findOrCreateNode( session, '/' + ModelerLexicon.TEMP_FOLDER );
+                            session.save();
+                            return !session.hasPendingChanges();
+                        }
+                    } );
+                }
+            }
+        }
+        return ModelerLexicon.TEMP_FOLDER + '/' + UUID.randomUUID();
+    }
+
+    private String upload( final InputStream stream,
+                           final String workspacePath,
+                           final String externalLocation ) throws ModelerException {
+        return manager.run( new Task< String >() {
+
+            @Override
+            public String run( final Session session ) throws Exception {
+                final Node node = upload( session, stream, workspacePath, externalLocation );
                 session.save();
-                return null;
+                return node.getPath();
             }
         } );
     }
+
+    private Node upload( final Session session,
+                         final InputStream stream,
+                         final String workspacePath,
+                         final String externalLocation ) throws Exception {
+        // Ensure the path is non-null, absolute, and ends with a slash
+        final Node node = new JcrTools().uploadFile( session, absolutePath( workspacePath ), stream );
+        // Add unstructured mix-in to allow node to contain anything else, like models created later
+        node.addMixin( ModelerLexicon.UNSTRUCTURED_MIXIN );
+        if ( externalLocation != null ) node.setProperty( ModelerLexicon.EXTERNAL_LOCATION, externalLocation );
+        // Determine the MIME type now rather than when saved, so a default model type can be found before the artifact is saved
+        final Node contentNode = node.getNode( JcrLexicon.CONTENT.getString() );
+        if ( !contentNode.hasProperty( JcrLexicon.MIMETYPE.getString() ) ) {
+            final String mimeType =
+                ( ( Binary ) contentNode.getProperty( JcrLexicon.DATA.getString() ).getBinary() ).getMimeType( node.getName() );
+            if ( mimeType != null ) contentNode.setProperty( JcrLexicon.MIMETYPE.getString(), mimeType );
+        }
+        return node;
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler;
+
+import org.modeshape.common.util.CheckArg;
+
+/**
+ * The arguments to one {@link Modeler#generateModels(java.util.Collection) bulk} model generation, equivalent to those of
+ * {@link Modeler#generateModel(String, String, ModelType, boolean)}.
+ */
+public final class ModelGenerationJob {
+
+    private final String artifactPath;
+    private final String modelPath;
+    private final ModelType modelType;
+    private final boolean persistArtifact;
+
+    /**
+     * @param artifactPath
+     *        the workspace path to an artifact; must not be empty.
+     * @param modelPath
+     *        the path where the model should be created; must not be empty.
+     * @param modelType
+     *        the type of model to be created for the supplied artifact; may be <code>null</code>.
+     * @param persistArtifact
+     *        <code>true</code> if the artifact should be retained after the model is generated
+     */
+    public ModelGenerationJob( final String artifactPath,
+                               final String modelPath,
+                               final ModelType modelType,
+                               final boolean persistArtifact ) {
+        CheckArg.isNotEmpty( artifactPath, "artifactPath" );
+        CheckArg.isNotEmpty( modelPath, "modelPath" );
+        this.artifactPath = artifactPath;
+        this.modelPath = modelPath;
+        this.modelType = modelType;
+        this.persistArtifact = persistArtifact;
+    }
+
+    /**
+     * @return the workspace path to the artifact; never empty.
+     */
+    public String artifactPath() {
+        return artifactPath;
+    }
+
+    /**
+     * @return the path where the model should be created; never empty.
+     */
+    public String modelPath() {
+        return modelPath;
+    }
+
+    /**
+     * @return the type of model to be created; may be <code>null</code>.
+     */
+    public ModelType modelType() {
+        return modelType;
+    }
+
+    /**
+     * @return <code>true</code> if the artifact should be retained after the model is generated
+     */
+    public boolean persistArtifact() {
+        return persistArtifact;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return artifactPath + " -> " + modelPath;
+    }
+}
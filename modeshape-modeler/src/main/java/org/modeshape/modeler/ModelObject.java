@@ -23,13 +23,17 @@
  */
 package org.modeshape.modeler;
 
+import java.util.Iterator;
+import java.util.Map;
+
 /**
  * 
  */
 public interface ModelObject {
 
     /**
-     * @return this model object's absolute workspace path; never <code>null</code>
+     * @return this model object's absolute workspace path when this model object was obtained; never <code>null</code>. The
+     *         other methods continue to refer to the same node if it is subsequently moved or renamed.
      */
     String absolutePath();
 
@@ -60,6 +64,23 @@ public interface ModelObject {
      */
     ModelObject child( String childName ) throws ModelerException;
 
+    /**
+     * @return the number of children of this model object, determined without creating a model object for each child
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    int childCount() throws ModelerException;
+
+    /**
+     * @param childName
+     *        the name of one of this model object's children
+     * @return the number of children of this model object with the supplied name, determined without creating a model object
+     *         for each child
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    int childCount( String childName ) throws ModelerException;
+
     /**
      * @param childName
      *        the name of one of this model object's children
@@ -69,6 +90,19 @@ public interface ModelObject {
      */
     boolean childHasSameNameSiblings( String childName ) throws ModelerException;
 
+    /**
+     * Returns an iterator that fetches this model object's children lazily, a page at a time, each within its own session, so
+     * that the memory used while iterating is bounded by the page size regardless of the number of children. Each page continues
+     * from where the previous page ended, so iterating over all of the children takes time linear in their number. Children added or
+     * removed during an iteration may cause other children to be skipped or returned twice. The iterator's methods throw an
+     * {@link IllegalStateException} wrapping any {@link ModelerException} that occurs while fetching a page.
+     *
+     * @param pageSize
+     *        the maximum number of children fetched at a time; must be positive.
+     * @return an iterator over the child model objects of this model object; never <code>null</code>.
+     */
+    Iterator< ModelObject > childIterator( int pageSize );
+
     /**
      * @return the child model objects of this model object
      * @throws ModelerException
@@ -76,6 +110,19 @@ public interface ModelObject {
      */
     ModelObject[] children() throws ModelerException;
 
+    /**
+     * @param offset
+     *        the number of leading children to skip; must not be negative.
+     * @param limit
+     *        the maximum number of children to return; must be positive.
+     * @return up to the supplied limit of child model objects of this model object, starting at the supplied offset; never
+     *         <code>null</code>.
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    ModelObject[] children( int offset,
+                            int limit ) throws ModelerException;
+
     /**
      * @param childName
      *        the name of one of this model object's children
@@ -175,6 +222,26 @@ public interface ModelObject {
      */
     String primaryType() throws ModelerException;
 
+    /**
+     * @return the values of this model object's properties by property name, each converted to a Boolean, Long, Double,
+     *         BigDecimal, Calendar or String, or to an array of such values if the property has multiple values; never
+     *         <code>null</code>.
+     * @throws ModelerException
+     *         if any error occurs
+     * @see #propertyNames()
+     */
+    Map< String, Object > properties() throws ModelerException;
+
+    /**
+     * @param propertyNames
+     *        the names of one or more of this model object's properties
+     * @return the values of the supplied properties that exist by property name, converted as for {@link #properties()}; never
+     *         <code>null</code>.
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    Map< String, Object > properties( String... propertyNames ) throws ModelerException;
+
     /**
      * @param propertyName
      *        the name of one of this model object's properties
@@ -191,6 +258,26 @@ public interface ModelObject {
      */
     String[] propertyNames() throws ModelerException;
 
+    /**
+     * Equivalent to calling {@link #snapshot(int) snapshot( 0 )}.
+     *
+     * @return an immutable view of this model object's properties, mixin types and child references; never <code>null</code>
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    ModelObjectSnapshot snapshot() throws ModelerException;
+
+    /**
+     * Captures this model object's state, and that of its descendants down to the supplied depth, within a single session.
+     *
+     * @param depth
+     *        the number of levels of descendants to capture in addition to this model object; must not be negative.
+     * @return an immutable view of this model object's properties, mixin types and child references; never <code>null</code>
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    ModelObjectSnapshot snapshot( int depth ) throws ModelerException;
+
     /**
      * @param propertyName
      *        the name of one of this model object's single-valued properties
@@ -208,4 +295,20 @@ public interface ModelObject {
      *         if any error occurs
      */
     String[] stringValues( String propertyName ) throws ModelerException;
+
+    /**
+     * Walks this model object's subtree depth-first within a single session, visiting this model object before its descendants
+     * and each model object before its next sibling.
+     *
+     * @param visitor
+     *        the visitor of each model object in the subtree; must not be <code>null</code>.
+     * @param depth
+     *        the number of levels of descendants to walk in addition to this model object; must not be negative.
+     * @return <code>true</code> if the walk completed, or <code>false</code> if the visitor
+     *         {@link ModelObjectVisitor.Result#TERMINATE terminated} it
+     * @throws ModelerException
+     *         if any error occurs, including an exception thrown by the visitor
+     */
+    boolean walk( ModelObjectVisitor visitor,
+                  int depth ) throws ModelerException;
 }
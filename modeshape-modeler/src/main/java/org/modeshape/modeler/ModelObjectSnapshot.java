@@ -0,0 +1,99 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler;
+
+/**
+ * An immutable, in-memory view of a {@link ModelObject model object}'s state, captured within a single session by
+ * {@link ModelObject#snapshot(int)}. A snapshot does not reflect changes made to its model object after it was captured.
+ */
+public interface ModelObjectSnapshot {
+
+    /**
+     * @return the absolute workspace path of the captured model object; never <code>null</code>
+     */
+    String absolutePath();
+
+    /**
+     * @return the model objects referring to the captured model object's children; never <code>null</code>
+     */
+    ModelObject[] children();
+
+    /**
+     * @return the snapshots of the captured model object's children, or <code>null</code> if they were beyond the depth of the
+     *         snapshot
+     */
+    ModelObjectSnapshot[] childSnapshots();
+
+    /**
+     * @param propertyName
+     *        the name of one of the captured model object's properties
+     * @return <code>true</code> if the captured model object has a property with the supplied name
+     */
+    boolean hasProperty( String propertyName );
+
+    /**
+     * @return the captured model object's 0-based index relative to any other same-name-siblings, or -1 if it is a model
+     */
+    int index();
+
+    /**
+     * @return the captured model object's mixin types; never <code>null</code>
+     */
+    String[] mixinTypes();
+
+    /**
+     * @return the model object that was captured; never <code>null</code>
+     */
+    ModelObject modelObject();
+
+    /**
+     * @return the captured model object's name; never <code>null</code>
+     */
+    String name();
+
+    /**
+     * @return the captured model object's primary type; never <code>null</code>
+     */
+    String primaryType();
+
+    /**
+     * @param propertyName
+     *        the name of one of the captured model object's properties
+     * @return <code>true</code> if the supplied property exists and has multiple values
+     */
+    boolean propertyHasMultipleValues( String propertyName );
+
+    /**
+     * @return the captured model object's property names; never <code>null</code>.
+     */
+    String[] propertyNames();
+
+    /**
+     * @param propertyName
+     *        the name of one of the captured model object's properties
+     * @return the value of the supplied property as a Boolean, Long, Double, BigDecimal, Calendar or String, an array of such
+     *         values if the property has multiple values, or <code>null</code> if the property doesn't exist
+     */
+    Object value( String propertyName );
+}
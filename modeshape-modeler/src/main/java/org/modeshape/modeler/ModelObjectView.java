@@ -0,0 +1,104 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler;
+
+import java.util.Map;
+
+/**
+ * A lightweight view of the model object currently being visited by a {@link ModelObjectVisitor visitor}, reading directly from
+ * the session of the walk. A view is reused for each visited model object, so it must not be retained beyond the
+ * {@link ModelObjectVisitor#visit(ModelObjectView) visit} to which it was supplied; use {@link #modelObject()} instead.
+ */
+public interface ModelObjectView {
+
+    /**
+     * @return the visited model object's absolute workspace path; never <code>null</code>
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    String absolutePath() throws ModelerException;
+
+    /**
+     * @return the visited model object's depth relative to the model object being walked, which has a depth of 0
+     */
+    int depth();
+
+    /**
+     * @return the visited model object's 0-based index relative to any other same-name-siblings, or -1 if it is a model
+     */
+    int index();
+
+    /**
+     * @return the visited model object's mixin types; never <code>null</code>
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    String[] mixinTypes() throws ModelerException;
+
+    /**
+     * @return the visited model object, which may be retained after the visit; never <code>null</code>
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    ModelObject modelObject() throws ModelerException;
+
+    /**
+     * @return the visited model object's name; never <code>null</code>
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    String name() throws ModelerException;
+
+    /**
+     * @return the visited model object's primary type; never <code>null</code>
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    String primaryType() throws ModelerException;
+
+    /**
+     * @return the values of the visited model object's properties by property name, converted as for
+     *         {@link ModelObject#properties()}; never <code>null</code>.
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    Map< String, Object > properties() throws ModelerException;
+
+    /**
+     * @return the visited model object's property names; never <code>null</code>.
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    String[] propertyNames() throws ModelerException;
+
+    /**
+     * @param propertyName
+     *        the name of one of the visited model object's properties
+     * @return the value of the supplied property, converted as for {@link ModelObject#properties()}, or <code>null</code> if the
+     *         property doesn't exist
+     * @throws ModelerException
+     *         if any error occurs
+     */
+    Object value( String propertyName ) throws ModelerException;
+}
@@ -0,0 +1,62 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler;
+
+/**
+ * A visitor of the model objects in a subtree {@link ModelObject#walk(ModelObjectVisitor, int) walked} depth-first within a
+ * single session.
+ */
+public interface ModelObjectVisitor {
+
+    /**
+     * Determines how a walk proceeds after a model object has been visited.
+     */
+    enum Result {
+
+        /**
+         * Continue the walk with the visited model object's children
+         */
+        CONTINUE,
+
+        /**
+         * Continue the walk, but skip the visited model object's children
+         */
+        SKIP_CHILDREN,
+
+        /**
+         * End the walk without visiting any other model objects
+         */
+        TERMINATE
+    }
+
+    /**
+     * @param view
+     *        a view of the model object being visited, which is reused for each visited model object and is only valid until this
+     *        method returns; never <code>null</code>.
+     * @return how the walk should proceed; <code>null</code> is treated as {@link Result#CONTINUE}.
+     * @throws Exception
+     *         if any problem occurs, which ends the walk
+     */
+    Result visit( ModelObjectView view ) throws Exception;
+}
@@ -50,17 +50,23 @@ public interface ModelTypeManager {
     ModelType defaultModelType( final String artifactPath ) throws ModelerException;
 
     /**
-     * @param category
-     *        the name of an {@link #installableModelTypeCategories() installable model type category} from an on-line <a
+     * Installs the model types of the supplied categories. The archives of multiple categories are downloaded and extracted in
+     * parallel, and the installation of all of them is saved at once.
+     * 
+     * @param categories
+     *        the names of one or more {@link #installableModelTypeCategories() installable model type categories} from an on-line <a
      *        href="http://maven.apache.org">Maven</a> {@link #modelTypeRepositories() model type repository}
      * @return the collection of names of potential sequencer classes that could not be instantiated, usually due to missing
      *         dependencies.
      * @throws ModelerException
      *         if any problem occurs
      */
-    String[] install( final String category ) throws ModelerException;
+    String[] install( final String... categories ) throws ModelerException;
 
     /**
+     * The categories of each repository are cached, and only retrieved again from a repository once they expire or are
+     * {@link #refreshInstallableModelTypeCategories() refreshed}.
+     * 
      * @return the installable {@link ModelType model type} categories from the {@link #modelTypeRepositories() registered
      *         repositories}
      * @throws ModelerException
@@ -83,7 +89,7 @@ public interface ModelTypeManager {
     /**
      * @return the {@link #registerModelTypeRepository(URL) registered} <a href="http://maven.apache.org">Maven</a> model type
      *         repository URLs, ordered by how they will searched when {@link #installableModelTypeCategories() retrieving} or
-     *         {@link #install(String) installing} model type categories
+     *         {@link #install(String...) installing} model type categories
      */
     URL[] modelTypeRepositories();
 
@@ -113,7 +119,7 @@ public interface ModelTypeManager {
      *        a URL to an on-line <a href="http://maven.apache.org">Maven</a> {@link #modelTypeRepositories() model type repository}
      * @return the {@link #registerModelTypeRepository(URL) registered} <a href="http://maven.apache.org">Maven</a>
      *         {@link #modelTypeRepositories() model type repository} URLs, ordered by how they will searched when
-     *         {@link #installableModelTypeCategories() retrieving} or {@link #install(String) installing} model type categories
+     *         {@link #installableModelTypeCategories() retrieving} or {@link #install(String...) installing} model type categories
      * @throws ModelerException
      *         if any error occurs
      */
@@ -124,18 +130,29 @@ public interface ModelTypeManager {
      *        a URL to an on-line <a href="http://maven.apache.org">Maven</a> {@link #modelTypeRepositories() model type repository}
      * @return the {@link #registerModelTypeRepository(URL) registered} <a href="http://maven.apache.org">Maven</a>
      *         {@link #modelTypeRepositories() model type repository} URLs, ordered by how they will searched when
-     *         {@link #installableModelTypeCategories() retrieving} or {@link #install(String) installing} model type categories
+     *         {@link #installableModelTypeCategories() retrieving} or {@link #install(String...) installing} model type categories
      * @throws ModelerException
      *         if any error occurs
      */
     URL[] moveModelTypeRepositoryUp( final URL repositoryUrl ) throws ModelerException;
 
+    /**
+     * Retrieves the {@link #installableModelTypeCategories() installable model type categories} from every
+     * {@link #modelTypeRepositories() registered repository}, regardless of how recently they were cached.
+     * 
+     * @return the installable {@link ModelType model type} categories from the {@link #modelTypeRepositories() registered
+     *         repositories}
+     * @throws ModelerException
+     *         if any problem occurs
+     */
+    String[] refreshInstallableModelTypeCategories() throws ModelerException;
+
     /**
      * @param repositoryUrl
      *        a URL to an on-line <a href="http://maven.apache.org">Maven</a> {@link #modelTypeRepositories() model type repository}
      * @return the registered <a href="http://maven.apache.org">Maven</a> {@link #modelTypeRepositories() model type repository}
      *         URLs, ordered by how they will searched when {@link #installableModelTypeCategories() retrieving} or
-     *         {@link #install(String) installing} model type categories
+     *         {@link #install(String...) installing} model type categories
      * @throws ModelerException
      *         if any error occurs
      */
@@ -154,7 +171,7 @@ public interface ModelTypeManager {
      *        a URL to an on-line <a href="http://maven.apache.org">Maven</a> {@link #modelTypeRepositories() model type repository}
      * @return the {@link #registerModelTypeRepository(URL) registered} <a href="http://maven.apache.org">Maven</a>
      *         {@link #modelTypeRepositories() model type repository} URLs, ordered by how they will searched when
-     *         {@link #installableModelTypeCategories() retrieving} or {@link #install(String) installing} model type categories
+     *         {@link #installableModelTypeCategories() retrieving} or {@link #install(String...) installing} model type categories
      * @throws ModelerException
      *         if any error occurs
      */
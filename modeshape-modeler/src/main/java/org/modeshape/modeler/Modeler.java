@@ -27,9 +27,13 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Future;
 
 /**
- * 
+ * The <code>*Async</code> variants of operations run on the modeler's executor and return immediately; any failure, including an
+ * invalid argument, is reported by the returned {@link Future}.
  */
 public interface Modeler extends AutoCloseable {
 
@@ -38,6 +42,18 @@ public interface Modeler extends AutoCloseable {
      */
     String DEFAULT_MODESHAPE_CONFIGURATION_PATH = "jcr/modeShapeConfig.json";
 
+    /**
+     * Runs the supplied batch such that all of the modeler operations it performs share a single session. Changes are saved
+     * periodically as the batch runs and once when it completes, rather than once per operation. If the batch fails, changes not
+     * yet saved are discarded.
+     * 
+     * @param batch
+     *        the batch to run; must not be <code>null</code>.
+     * @throws ModelerException
+     *         if any problem occurs
+     */
+    void batch( final Batch batch ) throws ModelerException;
+
     /**
      * @param model
      *        a workspace model
@@ -71,6 +87,28 @@ public interface Modeler extends AutoCloseable {
     void export( Model model,
                  URL url ) throws ModelerException;
 
+    /**
+     * @param model
+     *        a workspace model
+     * @param file
+     *        a file to which the supplied model should be exported
+     * @return the pending export
+     * @see #export(Model, File)
+     */
+    Future< Void > exportAsync( Model model,
+                                File file );
+
+    /**
+     * @param model
+     *        a workspace model
+     * @param stream
+     *        an output stream to which the supplied model should be exported
+     * @return the pending export
+     * @see #export(Model, OutputStream)
+     */
+    Future< Void > exportAsync( Model model,
+                                OutputStream stream );
+
     /**
      * @param artifactPath
      *        the workspace path to an artifact; must not be empty.
@@ -187,6 +225,69 @@ public interface Modeler extends AutoCloseable {
                          final String modelName,
                          final ModelType modelType ) throws ModelerException;
 
+    /**
+     * @param stream
+     *        the artifact's content to be imported. Must not be <code>null</code>.
+     * @param modelPath
+     *        the path where the model should be created
+     * @param modelType
+     *        the type of model to be created for the supplied artifact; may be <code>null</code>.
+     * @return the pending model
+     * @see #generateModel(InputStream, String, ModelType)
+     */
+    Future< Model > generateModelAsync( final InputStream stream,
+                                        final String modelPath,
+                                        final ModelType modelType );
+
+    /**
+     * @param artifactPath
+     *        the workspace path to an artifact; must not be empty.
+     * @param modelPath
+     *        the path where the model should be created
+     * @param modelType
+     *        the type of model to be created for the supplied artifact; may be <code>null</code>.
+     * @param persistArtifacts
+     *        <code>true</code> if auto-imported dependency artifacts should be persisted
+     * @return the pending model
+     * @see #generateModel(String, String, ModelType, boolean)
+     */
+    Future< Model > generateModelAsync( final String artifactPath,
+                                        final String modelPath,
+                                        final ModelType modelType,
+                                        final boolean persistArtifacts );
+
+    /**
+     * @param artifactUrl
+     *        the URL of an artifact; must not be <code>null</code>.
+     * @param modelFolder
+     *        the parent path where the model should be created
+     * @param modelName
+     *        the name of the model. If <code>null</code> or empty, the name of the supplied file will be used.
+     * @param modelType
+     *        the type of model to be created for the supplied artifact; may be <code>null</code>.
+     * @return the pending model
+     * @see #generateModel(URL, String, String, ModelType)
+     */
+    Future< Model > generateModelAsync( final URL artifactUrl,
+                                        final String modelFolder,
+                                        final String modelName,
+                                        final ModelType modelType );
+
+    /**
+     * Generates a model for each of the supplied jobs in parallel, each on its own session. Jobs whose models are created in disjoint
+     * folders do not contend with one another. When called from one of this modeler's asynchronous operations, the jobs are instead
+     * run one after another on the calling thread, so they never wait for a thread held by their caller. This method returns once
+     * every job has completed.
+     * 
+     * @param jobs
+     *        the model generation jobs; must not be <code>null</code>.
+     * @return the outcome of each job, in the order returned by the supplied collection's iterator; {@link Future#get()} returns the
+     *         generated model or throws the job's failure
+     * @throws ModelerException
+     *         if any problem occurs preparing the jobs' model folders, or if interrupted while waiting for the jobs to complete
+     */
+    List< Future< Model > > generateModels( final Collection< ModelGenerationJob > jobs ) throws ModelerException;
+
     /**
      * @param stream
      *        the artifact's content to be imported. Must not be <code>null</code>.
@@ -227,6 +328,32 @@ public interface Modeler extends AutoCloseable {
                            final String workspaceFolder,
                            final String workspaceName ) throws ModelerException;
 
+    /**
+     * @param stream
+     *        the artifact's content to be imported. Must not be <code>null</code>.
+     * @param workspacePath
+     *        the path where the artifact should be imported
+     * @return the pending workspace path to the imported artifact
+     * @see #importArtifact(InputStream, String)
+     */
+    Future< String > importArtifactAsync( final InputStream stream,
+                                          final String workspacePath );
+
+    /**
+     * @param url
+     *        the name of the artifact as it should be stored in the workspace. Must not be empty.
+     * @param workspaceFolder
+     *        the parent path where the artifact should be imported
+     * @param workspaceName
+     *        the name of the artifact in the workspace. If <code>null</code> or empty, the last segment of the supplied URL will be
+     *        used.
+     * @return the pending workspace path to the imported artifact
+     * @see #importArtifact(URL, String, String)
+     */
+    Future< String > importArtifactAsync( final URL url,
+                                          final String workspaceFolder,
+                                          final String workspaceName );
+
     /**
      * @param file
      *        the file to be imported. Must not be <code>null</code>.
@@ -31,6 +31,10 @@ import org.polyglotter.common.I18n;
 @SuppressWarnings( "javadoc" )
 public final class ModelerI18n {
 
+    public static final I18n archiveChecksumMismatch =
+        new I18n( "The SHA-1 checksum of archive %s does not match the checksum published by its repository" );
+    public static final I18n archiveChecksumNotPublished =
+        new I18n( "No SHA-1 checksum is published for archive %s, so the archive is installed without being verified" );
     public static final I18n dependencyDoesNotHaveSourceReferences =
         new I18n( "A dependency node exists for '%s' but has no source references" );
     public static final I18n modelerStarted = new I18n( "ModeShape Modeler started" );
@@ -38,7 +42,13 @@ public final class ModelerI18n {
     public static final I18n mustBeModelNode = new I18n( "Node '%s' is not a model node" );
     public static final I18n sessionNotSavedWhenCreatingModel =
         new I18n( "The session was not saved when creating model for '%s'" );
+    public static final I18n sessionPoolAlreadyStarted =
+        new I18n( "Session pool settings cannot be changed after the repository has been accessed" );
+    public static final I18n sessionPoolClosed = new I18n( "The session pool for workspace '%s' has been closed" );
+    public static final I18n sessionPoolExhausted =
+        new I18n( "No session became available from the pool for workspace '%s' within %s milliseconds" );
     public static final I18n unableToDetermineDefaultModelType = new I18n( "Unable to determine default model type for file %s" );
+    public static final I18n unableToDownloadArchive = new I18n( "Unable to download archive %s" );
     public static final I18n unableToFindModelTypeCategory =
         new I18n( "Unable to find model type category \"%s\" in registered model type repositories" );
     public static final I18n urlNotFound = new I18n( "URL not found: %s" );
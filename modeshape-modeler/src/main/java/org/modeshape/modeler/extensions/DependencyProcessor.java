@@ -44,8 +44,13 @@ public interface DependencyProcessor {
     String SELF_PATH = ".";
 
     /**
+     * Changes made to the model node are saved by the caller, through the session from which it obtained the node, so they are
+     * deferred along with the model's other changes within a {@link Modeler#batch(org.modeshape.modeler.Batch) batch}.
+     * Implementations must not save the model node's session themselves.
+     * 
      * @param artifactPath
-     *        the workspace path of the artifact whose dependencies are being processed
+     *        the workspace path of the artifact whose dependencies are being processed, or <code>null</code> if the model was
+     *        sequenced directly from a stream without its artifact being stored in the workspace
      * @param modelNode
      *        the node of the model whose dependencies are being processed (cannot be <code>null</code>)
      * @param modeler
@@ -0,0 +1,107 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+/**
+ * Wraps a session shared by all of the tasks in a {@link Manager#runBatch(java.util.List) batch}. Calls to {@link Session#save()}
+ * made by those tasks are deferred until the configured number of saves are pending, and calls to {@link Session#logout()} are
+ * ignored.
+ */
+final class BatchSession implements InvocationHandler {
+
+    private final Session session;
+    private final Session proxy;
+    private final int flushSize;
+    private int pendingSaves;
+
+    /**
+     * @param session
+     *        the session shared by the batch's tasks
+     * @param flushSize
+     *        the number of deferred saves after which the session is automatically saved
+     */
+    BatchSession( final Session session,
+                  final int flushSize ) {
+        this.session = session;
+        this.flushSize = flushSize;
+        final Class< ? > type =
+            session instanceof org.modeshape.jcr.api.Session ? org.modeshape.jcr.api.Session.class : Session.class;
+        proxy = ( Session ) Proxy.newProxyInstance( getClass().getClassLoader(), new Class< ? >[] { type }, this );
+    }
+
+    /**
+     * Saves any changes made since the last flush.
+     * 
+     * @throws RepositoryException
+     *         if any problem occurs
+     */
+    void flush() throws RepositoryException {
+        if ( pendingSaves > 0 || session.hasPendingChanges() ) session.save();
+        pendingSaves = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+     */
+    @Override
+    public Object invoke( final Object proxy,
+                          final Method method,
+                          final Object[] args ) throws Throwable {
+        if ( args == null ) {
+            switch ( method.getName() ) {
+                case "save":
+                    if ( ++pendingSaves >= flushSize ) flush();
+                    return null;
+                case "logout":
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode( proxy );
+                case "toString":
+                    return session.toString();
+            }
+        } else if ( args.length == 1 && method.getName().equals( "equals" ) ) return proxy == args[ 0 ];
+        try {
+            return method.invoke( session, args );
+        } catch ( final InvocationTargetException e ) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return the session to be supplied to the batch's tasks
+     */
+    Session session() {
+        return proxy;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+
+/**
+ * The access flags, name, and superclass name read directly from the header of a class file, without loading the class.
+ */
+final class ClassHeader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     * Reads the supplied class file only as far as its superclass, and does not close the supplied stream.
+     * 
+     * @param stream
+     *        the contents of a class file
+     * @return the class file's header; never <code>null</code>.
+     * @throws IOException
+     *         if the stream cannot be read or is not a class file
+     */
+    static ClassHeader read( final InputStream stream ) throws IOException {
+        final DataInputStream in = new DataInputStream( stream );
+        if ( in.readInt() != MAGIC ) throw new IOException( "Not a class file" );
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+        final int count = in.readUnsignedShort();
+        final String[] utf8s = new String[ count ];
+        final int[] classNameIndexes = new int[ count ];
+        for ( int ndx = 1; ndx < count; ndx++ ) {
+            final int tag = in.readUnsignedByte();
+            switch ( tag ) {
+                case 1: // Utf8
+                    utf8s[ ndx ] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classNameIndexes[ ndx ] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.skipBytes( 2 );
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes( 3 );
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.skipBytes( 4 );
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.skipBytes( 8 );
+                    ndx++; // Occupies two constant pool entries
+                    break;
+                default:
+                    throw new IOException( "Unknown constant pool tag: " + tag );
+            }
+        }
+        final int accessFlags = in.readUnsignedShort();
+        final int thisClass = in.readUnsignedShort();
+        final int superClass = in.readUnsignedShort();
+        return new ClassHeader( accessFlags,
+                                className( utf8s[ classNameIndexes[ thisClass ] ] ),
+                                superClass == 0 ? null : className( utf8s[ classNameIndexes[ superClass ] ] ) );
+    }
+
+    private static String className( final String internalName ) {
+        return internalName.replace( '/', '.' );
+    }
+
+    final int accessFlags;
+    final String name;
+    final String superName;
+
+    private ClassHeader( final int accessFlags,
+                         final String name,
+                         final String superName ) {
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.superName = superName;
+    }
+
+    /**
+     * @return <code>true</code> if the class is public, concrete, and not an interface
+     */
+    boolean instantiable() {
+        return Modifier.isPublic( accessFlags ) && !Modifier.isAbstract( accessFlags ) && !Modifier.isInterface( accessFlags );
+    }
+}
@@ -23,7 +23,19 @@
  */
 package org.modeshape.modeler.internal;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.jcr.Node;
 import javax.jcr.PathNotFoundException;
@@ -52,9 +64,36 @@ public class Manager {
      */
     public static final String REPOSITORY_STORE_PARENT_PATH_PROPERTY = "org.modeshape.modeler.repositoryStoreParentPath";
 
+    /**
+     * The default maximum number of sessions pooled per workspace
+     */
+    public static final int DEFAULT_SESSION_POOL_SIZE = 10;
+
+    /**
+     * The default number of milliseconds to wait for a pooled session to become available
+     */
+    public static final long DEFAULT_SESSION_POOL_WAIT_TIMEOUT = 30000;
+
+    /**
+     * The default number of saves deferred by a {@link #runBatch(List) batch} before its session is automatically saved
+     */
+    public static final int DEFAULT_BATCH_FLUSH_SIZE = 100;
+
+    private static final String DEFAULT_WORKSPACE = "default";
+    private static final String SYSTEM_WORKSPACE = "modeler";
+
     private ModeShapeEngine modeShape;
-    private JcrRepository repository;
+    private volatile JcrRepository repository;
+    private final Object repositoryLock = new Object();
     private ModelTypeManagerImpl modelTypeManager;
+    private ExecutorService executor;
+    private boolean executorOwned;
+    private final Map< String, SessionPool > sessionPools = new HashMap<>();
+    private int sessionPoolSize = DEFAULT_SESSION_POOL_SIZE;
+    private long sessionPoolWaitTimeout = DEFAULT_SESSION_POOL_WAIT_TIMEOUT;
+    private volatile int batchFlushSize = DEFAULT_BATCH_FLUSH_SIZE;
+    private final ThreadLocal< BatchSession > batchSession = new ThreadLocal<>();
+    private final ThreadLocal< Boolean > onExecutor = new ThreadLocal<>();
 
     /**
      * 
@@ -93,11 +132,29 @@ public class Manager {
         }
     }
 
+    /**
+     * @return the number of saves deferred by a {@link #runBatch(List) batch} before its session is automatically saved
+     */
+    public int batchFlushSize() {
+        return batchFlushSize;
+    }
+
     /**
      * @throws ModelerException
      *         if any problem occurs
      */
     public void close() throws ModelerException {
+        synchronized ( this ) {
+            if ( executorOwned ) executor.shutdown();
+            executor = null;
+            executorOwned = false;
+        }
+        synchronized ( sessionPools ) {
+            for ( final SessionPool pool : sessionPools.values() )
+                pool.close();
+            sessionPools.clear();
+        }
+        batchSession.remove();
         try {
             if ( modeShape != null ) modeShape.shutdown().get();
         } catch ( InterruptedException | ExecutionException e ) {
@@ -106,18 +163,92 @@ public class Manager {
         Logger.getLogger( getClass() ).info( ModelerI18n.modelerStopped );
     }
 
+    /**
+     * @return the executor used to run asynchronous operations. If one has not been {@link #setExecutor(ExecutorService) set}, a
+     *         fixed-size thread pool with one thread per {@link #sessionPoolSize() pooled session} is created and is shut down when
+     *         this manager is closed.
+     */
+    public synchronized ExecutorService executor() {
+        if ( executor == null ) {
+            executor = Executors.newFixedThreadPool( sessionPoolSize, new ThreadFactory() {
+
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread( final Runnable runnable ) {
+                    final Thread thread = new Thread( new Runnable() {
+
+                        @Override
+                        public void run() {
+                            onExecutor.set( Boolean.TRUE );
+                            runnable.run();
+                        }
+                    }, "modeler-" + count.incrementAndGet() );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            } );
+            executorOwned = true;
+        }
+        return executor;
+    }
+
+    private < T > Callable< T > executorTask( final Callable< T > task ) {
+        return new Callable< T >() {
+
+            @Override
+            public T call() throws Exception {
+                final Boolean nested = onExecutor.get();
+                onExecutor.set( Boolean.TRUE );
+                try {
+                    return task.call();
+                } finally {
+                    if ( nested == null ) onExecutor.remove();
+                }
+            }
+        };
+    }
+
+    /**
+     * Runs the supplied tasks using the {@link #executor() executor}. If called from a task already running on the executor, the
+     * supplied tasks are instead run inline, in order, so that a task never waits on sub-tasks for which no thread may be free.
+     * 
+     * @param tasks
+     *        the tasks to run
+     * @return the futures of the supplied tasks, in order, all of which are complete
+     * @throws InterruptedException
+     *         if interrupted while waiting for the tasks to complete
+     */
+    public < T > List< Future< T > > invokeAll( final Collection< ? extends Callable< T > > tasks ) throws InterruptedException {
+        if ( onExecutor.get() == null ) {
+            final List< Callable< T > > executorTasks = new ArrayList<>( tasks.size() );
+            for ( final Callable< T > task : tasks )
+                executorTasks.add( executorTask( task ) );
+            return executor().invokeAll( executorTasks );
+        }
+        final List< Future< T > > futures = new ArrayList<>( tasks.size() );
+        for ( final Callable< T > task : tasks ) {
+            final FutureTask< T > future = new FutureTask<>( task );
+            future.run();
+            futures.add( future );
+        }
+        return futures;
+    }
+
     /**
      * @return the model type manager
      * @throws ModelerException
      *         if any error occurs
      */
-    public ModelTypeManagerImpl modelTypeManager() throws ModelerException {
+    public synchronized ModelTypeManagerImpl modelTypeManager() throws ModelerException {
         if ( modelTypeManager == null ) modelTypeManager = new ModelTypeManagerImpl( this );
         return modelTypeManager;
     }
 
     JcrRepository repository() throws ModelerException {
-        if ( repository == null ) {
+        if ( repository != null ) return repository;
+        synchronized ( repositoryLock ) {
+            if ( repository != null ) return repository;
             try {
                 modeShape = new ModeShapeEngine();
                 modeShape.start();
@@ -136,11 +267,11 @@ public class Manager {
                 }
                 this.repository = repository;
                 Logger.getLogger( getClass() ).info( ModelerI18n.modelerStarted );
+                return repository;
             } catch ( final Throwable e ) {
                 throw new ModelerException( e );
             }
         }
-        return repository;
     }
 
     /**
@@ -156,23 +287,24 @@ public class Manager {
                         final SystemTask< T > task
                     ) throws ModelerException {
         try {
-            final Session session = repository().login( "modeler" );
+            final SessionPool pool = sessionPool( SYSTEM_WORKSPACE );
+            final Session session = pool.borrow();
             final String path = '/' + systemObject.getClass().getSimpleName();
-            final Node node;
-            if ( session.nodeExists( path ) )
-                node = session.getNode( path );
-            else {
-                node = session.getRootNode().addNode( path );
-                session.save();
-            }
             try {
+                final Node node;
+                if ( session.nodeExists( path ) )
+                    node = session.getNode( path );
+                else {
+                    node = session.getRootNode().addNode( path );
+                    session.save();
+                }
                 return task.run( session, node );
             } catch ( final RuntimeException e ) {
                 throw e;
             } catch ( final Exception e ) {
                 throw new ModelerException( e );
             } finally {
-                session.logout();
+                pool.release( session );
             }
         } catch ( final RepositoryException e ) {
             throw new ModelerException( e );
@@ -187,8 +319,19 @@ public class Manager {
      *         if any problem occurs
      */
     public < T > T run( final Task< T > task ) throws ModelerException {
+        final BatchSession batch = batchSession.get();
+        if ( batch != null ) {
+            try {
+                return task.run( batch.session() );
+            } catch ( final RuntimeException e ) {
+                throw e;
+            } catch ( final Exception e ) {
+                throw new ModelerException( e );
+            }
+        }
         try {
-            final Session session = repository().login( "default" );
+            final SessionPool pool = sessionPool( DEFAULT_WORKSPACE );
+            final Session session = pool.borrow();
             try {
                 return task.run( session );
             } catch ( final RuntimeException e ) {
@@ -196,10 +339,129 @@ public class Manager {
             } catch ( final Exception e ) {
                 throw new ModelerException( e );
             } finally {
-                session.logout();
+                pool.release( session );
             }
         } catch ( final RepositoryException e ) {
             throw new ModelerException( e );
         }
     }
+
+    /**
+     * Runs the supplied tasks, in order, using a single session. Any {@link #run(Task) task run} by the current thread while the
+     * batch is running also uses that session. Saves requested by the tasks are deferred, with the session automatically saved
+     * after every {@link #batchFlushSize() flush size} deferred saves and once after the last task. If a task fails, changes not
+     * yet automatically saved are discarded.
+     * 
+     * @param tasks
+     *        the tasks to run
+     * @return the return values of the supplied tasks, in order
+     * @throws ModelerException
+     *         if any problem occurs
+     */
+    public List< Object > runBatch( final List< ? extends Task< ? > > tasks ) throws ModelerException {
+        CheckArg.isNotNull( tasks, "tasks" );
+        final List< Object > results = new ArrayList<>( tasks.size() );
+        if ( batchSession.get() != null ) {
+            for ( final Task< ? > task : tasks )
+                results.add( run( task ) );
+            return results;
+        }
+        final SessionPool pool = sessionPool( DEFAULT_WORKSPACE );
+        final Session session = pool.borrow();
+        final BatchSession batch = new BatchSession( session, batchFlushSize );
+        batchSession.set( batch );
+        try {
+            for ( final Task< ? > task : tasks )
+                results.add( task.run( batch.session() ) );
+            batch.flush();
+            return results;
+        } catch ( final RuntimeException e ) {
+            throw e;
+        } catch ( final Exception e ) {
+            throw new ModelerException( e );
+        } finally {
+            batchSession.remove();
+            pool.release( session );
+        }
+    }
+
+    private SessionPool sessionPool( final String workspace ) throws ModelerException {
+        synchronized ( sessionPools ) {
+            SessionPool pool = sessionPools.get( workspace );
+            if ( pool == null ) {
+                pool = new SessionPool( repository(), workspace, sessionPoolSize, sessionPoolWaitTimeout );
+                sessionPools.put( workspace, pool );
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * @return the maximum number of sessions pooled per workspace
+     */
+    public int sessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    /**
+     * @return the number of milliseconds to wait for a pooled session to become available
+     */
+    public long sessionPoolWaitTimeout() {
+        return sessionPoolWaitTimeout;
+    }
+
+    /**
+     * @param batchFlushSize
+     *        the number of saves deferred by a {@link #runBatch(List) batch} before its session is automatically saved; must be
+     *        positive
+     */
+    public void setBatchFlushSize( final int batchFlushSize ) {
+        CheckArg.isPositive( batchFlushSize, "batchFlushSize" );
+        this.batchFlushSize = batchFlushSize;
+    }
+
+    /**
+     * @param executor
+     *        the executor used to run asynchronous operations; must not be <code>null</code>. The supplied executor is not shut
+     *        down when this manager is closed.
+     */
+    public synchronized void setExecutor( final ExecutorService executor ) {
+        CheckArg.isNotNull( executor, "executor" );
+        if ( executorOwned ) this.executor.shutdown();
+        this.executor = executor;
+        executorOwned = false;
+    }
+
+    /**
+     * @param sessionPoolSize
+     *        the maximum number of sessions pooled per workspace; must be positive
+     */
+    public void setSessionPoolSize( final int sessionPoolSize ) {
+        CheckArg.isPositive( sessionPoolSize, "sessionPoolSize" );
+        synchronized ( sessionPools ) {
+            if ( !sessionPools.isEmpty() ) throw new IllegalStateException( ModelerI18n.sessionPoolAlreadyStarted.text() );
+            this.sessionPoolSize = sessionPoolSize;
+        }
+    }
+
+    /**
+     * @param sessionPoolWaitTimeout
+     *        the number of milliseconds to wait for a pooled session to become available; must not be negative
+     */
+    public void setSessionPoolWaitTimeout( final long sessionPoolWaitTimeout ) {
+        CheckArg.isNonNegative( sessionPoolWaitTimeout, "sessionPoolWaitTimeout" );
+        synchronized ( sessionPools ) {
+            if ( !sessionPools.isEmpty() ) throw new IllegalStateException( ModelerI18n.sessionPoolAlreadyStarted.text() );
+            this.sessionPoolWaitTimeout = sessionPoolWaitTimeout;
+        }
+    }
+
+    /**
+     * @param task
+     *        a task to run using the {@link #executor() executor}
+     * @return the future of the supplied task
+     */
+    public < T > Future< T > submit( final Callable< T > task ) {
+        return executor().submit( executorTask( task ) );
+    }
 }
@@ -60,7 +60,21 @@ public class ModelImpl extends ModelObjectImpl implements Model {
      */
     public ModelImpl( final Manager manager,
                       final String modelPath ) {
-        super( manager, modelPath, -1 );
+        this( manager, modelPath, null );
+    }
+
+    /**
+     * @param manager
+     *        the ModeShapeModeler's manager
+     * @param modelPath
+     *        a path to a model
+     * @param id
+     *        the identifier of the model's node, or <code>null</code> if unknown
+     */
+    public ModelImpl( final Manager manager,
+                      final String modelPath,
+                      final String id ) {
+        super( manager, modelPath, id, -1 );
     }
 
     /**
@@ -85,7 +99,7 @@ public class ModelImpl extends ModelObjectImpl implements Model {
 
                 @Override
                 public Set< Dependency > run( final Session session ) throws Exception {
-                    final Node modelNode = session.getNode( absolutePath() );
+                    final Node modelNode = node( session );
 
                     if ( modelNode.hasNode( ModelerLexicon.DEPENDENCIES ) ) {
                         final NodeIterator itr = modelNode.getNode( ModelerLexicon.DEPENDENCIES ).getNodes();
@@ -153,7 +167,7 @@ public class ModelImpl extends ModelObjectImpl implements Model {
 
             @Override
             public URL run( final Session session ) throws Exception {
-                final Node model = session.getNode( path );
+                final Node model = node( session );
                 return model.hasProperty( ModelerLexicon.EXTERNAL_LOCATION ) ? new URL( model.getProperty( ModelerLexicon.EXTERNAL_LOCATION ).getString() )
                                                                             : null;
             }
@@ -238,9 +252,8 @@ public class ModelImpl extends ModelObjectImpl implements Model {
 
             @Override
             public ModelType run( final Session session ) throws Exception {
-                return manager.modelTypeManager().modelType( session.getNode( path )
-                                                                    .getProperty( ModelerLexicon.MODEL_TYPE )
-                                                                    .getString() );
+                return manager.modelTypeManager().modelType( node( session ).getProperty( ModelerLexicon.MODEL_TYPE )
+                                                                            .getString() );
             }
         } );
     }
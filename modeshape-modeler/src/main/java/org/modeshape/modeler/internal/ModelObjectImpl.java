@@ -23,8 +23,15 @@
  */
 package org.modeshape.modeler.internal;
 
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 import javax.jcr.Node;
@@ -32,6 +39,8 @@ import javax.jcr.NodeIterator;
 import javax.jcr.PathNotFoundException;
 import javax.jcr.Property;
 import javax.jcr.PropertyIterator;
+import javax.jcr.PropertyType;
+import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Value;
 import javax.jcr.ValueFormatException;
@@ -41,6 +50,9 @@ import org.modeshape.common.util.CheckArg;
 import org.modeshape.jcr.JcrLexicon;
 import org.modeshape.modeler.Model;
 import org.modeshape.modeler.ModelObject;
+import org.modeshape.modeler.ModelObjectSnapshot;
+import org.modeshape.modeler.ModelObjectVisitor;
+import org.modeshape.modeler.ModelObjectVisitor.Result;
 import org.modeshape.modeler.ModelerException;
 
 /**
@@ -48,6 +60,90 @@ import org.modeshape.modeler.ModelerException;
  */
 public class ModelObjectImpl implements ModelObject {
 
+    static int count( final NodeIterator iterator ) {
+        final long size = iterator.getSize();
+        if ( size >= 0 ) return ( int ) size;
+        // The size is unknown, so skip through the children without loading them
+        int count = 0;
+        for ( ; iterator.hasNext(); count++ )
+            iterator.skip( 1 );
+        return count;
+    }
+
+    static String[] mixinTypes( final Node node ) throws RepositoryException {
+        final NodeType[] nodeTypes = node.getMixinNodeTypes();
+        final String[] mixins = new String[ nodeTypes.length ];
+        for ( int ndx = 0; ndx < mixins.length; ndx++ )
+            mixins[ ndx ] = nodeTypes[ ndx ].getName();
+        return mixins;
+    }
+
+    static boolean modelProperty( final String propertyName ) {
+        return !propertyName.startsWith( JcrLexicon.Namespace.PREFIX )
+               && !propertyName.startsWith( ModelerLexicon.NAMESPACE_PREFIX );
+    }
+
+    static Map< String, Object > properties( final Node node ) throws RepositoryException {
+        final Map< String, Object > valuesByName = new LinkedHashMap<>();
+        for ( final PropertyIterator iter = node.getProperties(); iter.hasNext(); ) {
+            final Property prop = iter.nextProperty();
+            if ( modelProperty( prop.getName() ) ) valuesByName.put( prop.getName(), value( prop ) );
+        }
+        return valuesByName;
+    }
+
+    static String[] propertyNames( final Node node ) throws RepositoryException {
+        final List< String > names = new ArrayList<>();
+        for ( final PropertyIterator iter = node.getProperties(); iter.hasNext(); ) {
+            final String name = iter.nextProperty().getName();
+            if ( modelProperty( name ) ) names.add( name );
+        }
+        return names.toArray( new String[ names.size() ] );
+    }
+
+    static Object value( final Property property ) throws RepositoryException {
+        if ( !property.isMultiple() ) return value( property.getValue() );
+        final Value[] vals = property.getValues();
+        final Object[] values = ( Object[] ) Array.newInstance( valueClass( property.getType() ), vals.length );
+        for ( int ndx = 0; ndx < values.length; ndx++ )
+            values[ ndx ] = value( vals[ ndx ] );
+        return values;
+    }
+
+    static Object value( final Value value ) throws RepositoryException {
+        switch ( value.getType() ) {
+            case PropertyType.BOOLEAN:
+                return value.getBoolean();
+            case PropertyType.DATE:
+                return value.getDate();
+            case PropertyType.DECIMAL:
+                return value.getDecimal();
+            case PropertyType.DOUBLE:
+                return value.getDouble();
+            case PropertyType.LONG:
+                return value.getLong();
+            default:
+                return value.getString();
+        }
+    }
+
+    private static Class< ? > valueClass( final int propertyType ) {
+        switch ( propertyType ) {
+            case PropertyType.BOOLEAN:
+                return Boolean.class;
+            case PropertyType.DATE:
+                return Calendar.class;
+            case PropertyType.DECIMAL:
+                return BigDecimal.class;
+            case PropertyType.DOUBLE:
+                return Double.class;
+            case PropertyType.LONG:
+                return Long.class;
+            default:
+                return String.class;
+        }
+    }
+
     /**
      * 
      */
@@ -58,6 +154,11 @@ public class ModelObjectImpl implements ModelObject {
      */
     public final String path;
 
+    /**
+     * The identifier of this model object's node, or <code>null</code> if unknown
+     */
+    public final String id;
+
     /**
      * 
      */
@@ -66,8 +167,16 @@ public class ModelObjectImpl implements ModelObject {
     ModelObjectImpl( final Manager manager,
                      final String path,
                      final int index ) {
+        this( manager, path, null, index );
+    }
+
+    ModelObjectImpl( final Manager manager,
+                     final String path,
+                     final String id,
+                     final int index ) {
         this.manager = manager;
         this.path = path;
+        this.id = id;
         this.index = index;
     }
 
@@ -94,7 +203,7 @@ public class ModelObjectImpl implements ModelObject {
             @Override
             public Boolean run( final Session session ) throws Exception {
                 try {
-                    return session.getNode( path ).getProperty( propertyName ).getBoolean();
+                    return node( session ).getProperty( propertyName ).getBoolean();
                 } catch ( final ValueFormatException e ) {
                     throw new IllegalArgumentException( e );
                 } catch ( final PathNotFoundException e ) {
@@ -117,7 +226,7 @@ public class ModelObjectImpl implements ModelObject {
             @Override
             public Boolean[] run( final Session session ) throws Exception {
                 try {
-                    final Property prop = session.getNode( path ).getProperty( propertyName );
+                    final Property prop = node( session ).getProperty( propertyName );
                     if ( !prop.isMultiple() ) return new Boolean[] { prop.getBoolean() };
                     final Value[] vals = prop.getValues();
                     final Boolean[] booleanVals = new Boolean[ vals.length ];
@@ -146,7 +255,8 @@ public class ModelObjectImpl implements ModelObject {
             @Override
             public ModelObject run( final Session session ) throws Exception {
                 try {
-                    return new ModelObjectImpl( manager, session.getNode( path ).getNode( childName ).getPath(), 0 );
+                    final Node child = node( session ).getNode( childName );
+                    return new ModelObjectImpl( manager, child.getPath(), child.getIdentifier(), child.getIndex() - 1 );
                 } catch ( final PathNotFoundException e ) {
                     return null;
                 }
@@ -154,6 +264,39 @@ public class ModelObjectImpl implements ModelObject {
         } );
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#childCount()
+     */
+    @Override
+    public int childCount() throws ModelerException {
+        return manager.run( new Task< Integer >() {
+
+            @Override
+            public Integer run( final Session session ) throws Exception {
+                return count( node( session ).getNodes() );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#childCount(java.lang.String)
+     */
+    @Override
+    public int childCount( final String childName ) throws ModelerException {
+        CheckArg.isNotEmpty( childName, "childName" );
+        return manager.run( new Task< Integer >() {
+
+            @Override
+            public Integer run( final Session session ) throws Exception {
+                return count( node( session ).getNodes( childName ) );
+            }
+        } );
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -161,7 +304,28 @@ public class ModelObjectImpl implements ModelObject {
      */
     @Override
     public boolean childHasSameNameSiblings( final String childName ) throws ModelerException {
-        return children( childName ).length > 1;
+        CheckArg.isNotEmpty( childName, "childName" );
+        return manager.run( new Task< Boolean >() {
+
+            @Override
+            public Boolean run( final Session session ) throws Exception {
+                final NodeIterator iter = node( session ).getNodes( childName );
+                if ( !iter.hasNext() ) return false;
+                iter.skip( 1 );
+                return iter.hasNext();
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#childIterator(int)
+     */
+    @Override
+    public Iterator< ModelObject > childIterator( final int pageSize ) {
+        CheckArg.isPositive( pageSize, "pageSize" );
+        return new ChildIterator( pageSize );
     }
 
     /**
@@ -175,18 +339,50 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public ModelObject[] run( final Session session ) throws Exception {
-                return children( session.getNode( path ).getNodes() );
+                return children( node( session ).getNodes() );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#children(int, int)
+     */
+    @Override
+    public ModelObject[] children( final int offset,
+                                   final int limit ) throws ModelerException {
+        CheckArg.isNonNegative( offset, "offset" );
+        CheckArg.isPositive( limit, "limit" );
+        return manager.run( new Task< ModelObject[] >() {
+
+            @Override
+            public ModelObject[] run( final Session session ) throws Exception {
+                final NodeIterator iter = node( session ).getNodes();
+                try {
+                    iter.skip( offset );
+                } catch ( final NoSuchElementException e ) {
+                    return new ModelObject[ 0 ];
+                }
+                return children( iter, limit );
             }
         } );
     }
 
     ModelObject[] children( final NodeIterator iterator ) throws Exception {
-        final ModelObject[] children = new ModelObject[ ( int ) iterator.getSize() ];
-        for ( int ndx = 0; iterator.hasNext(); ndx++ ) {
+        return children( iterator, Integer.MAX_VALUE );
+    }
+
+    private ModelObject[] children( final NodeIterator iterator,
+                                    final int limit ) throws Exception {
+        // The size may be unknown (-1) or larger than needed, so only use it as a capacity hint
+        final long size = iterator.getSize();
+        final List< ModelObject > children = new ArrayList<>( size < 0 ? 10 : ( int ) Math.min( size, limit ) );
+        while ( iterator.hasNext() && children.size() < limit ) {
             final Node child = iterator.nextNode();
-            children[ ndx ] = new ModelObjectImpl( manager, child.getPath(), child.getIndex() - 1 );
+            children.add( new ModelObjectImpl( manager, child.getPath(), child.getIdentifier(), child.getIndex() - 1 ) );
         }
-        return children;
+        return children.toArray( new ModelObject[ children.size() ] );
     }
 
     /**
@@ -201,20 +397,25 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public ModelObject[] run( final Session session ) throws Exception {
-                return children( session.getNode( path ).getNodes( childName ) );
+                return children( node( session ).getNodes( childName ) );
             }
         } );
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Model objects are equal if they have the same identifier, or, if neither's identifier is known, the same path.
      * 
      * @see java.lang.Object#equals(java.lang.Object)
      */
     @Override
     public boolean equals( final Object object ) {
-        if ( getClass() != object.getClass() ) return false;
-        return Objects.equals( path, ( ( ModelObjectImpl ) object ).path );
+        if ( object == null || getClass() != object.getClass() ) return false;
+        final ModelObjectImpl modelObject = ( ModelObjectImpl ) object;
+        // Only compare paths when neither identifier is known, so equal model objects always have equal hash codes
+        if ( id != null || modelObject.id != null ) return Objects.equals( id, modelObject.id );
+        return Objects.equals( path, modelObject.path );
     }
 
     /**
@@ -229,7 +430,7 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public Boolean run( final Session session ) throws Exception {
-                return session.getNode( path ).hasNode( childName );
+                return node( session ).hasNode( childName );
             }
         } );
     }
@@ -245,7 +446,7 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public Boolean run( final Session session ) throws Exception {
-                return session.getNode( path ).hasNodes();
+                return node( session ).hasNodes();
             }
         } );
     }
@@ -257,7 +458,7 @@ public class ModelObjectImpl implements ModelObject {
      */
     @Override
     public int hashCode() {
-        return Objects.hash( path );
+        return Objects.hash( id == null ? path : id );
     }
 
     /**
@@ -267,7 +468,15 @@ public class ModelObjectImpl implements ModelObject {
      */
     @Override
     public boolean hasProperties() throws ModelerException {
-        return propertyNames().length > 0;
+        return manager.run( new Task< Boolean >() {
+
+            @Override
+            public Boolean run( final Session session ) throws Exception {
+                for ( final PropertyIterator iter = node( session ).getProperties(); iter.hasNext(); )
+                    if ( modelProperty( iter.nextProperty().getName() ) ) return true;
+                return false;
+            }
+        } );
     }
 
     /**
@@ -282,7 +491,7 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public Boolean run( final Session session ) throws Exception {
-                return session.getNode( path ).hasProperty( propertyName );
+                return node( session ).hasProperty( propertyName );
             }
         } );
     }
@@ -310,7 +519,7 @@ public class ModelObjectImpl implements ModelObject {
             @Override
             public Long run( final Session session ) throws Exception {
                 try {
-                    return session.getNode( path ).getProperty( propertyName ).getLong();
+                    return node( session ).getProperty( propertyName ).getLong();
                 } catch ( final ValueFormatException e ) {
                     throw new IllegalArgumentException( e );
                 } catch ( final PathNotFoundException e ) {
@@ -333,7 +542,7 @@ public class ModelObjectImpl implements ModelObject {
             @Override
             public Long[] run( final Session session ) throws Exception {
                 try {
-                    final Property prop = session.getNode( path ).getProperty( propertyName );
+                    final Property prop = node( session ).getProperty( propertyName );
                     if ( !prop.isMultiple() ) return new Long[] { prop.getLong() };
                     final Value[] vals = prop.getValues();
                     final Long[] longVals = new Long[ vals.length ];
@@ -360,12 +569,7 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public String[] run( final Session session ) throws Exception {
-                final Node node = session.getNode( path );
-                final NodeType[] nodeTypes = node.getMixinNodeTypes();
-                final String[] mixins = new String[ nodeTypes.length ];
-                for ( int ndx = 0; ndx < mixins.length; ndx++ )
-                    mixins[ ndx ] = nodeTypes[ ndx ].getName();
-                return mixins;
+                return mixinTypes( node( session ) );
             }
         } );
     }
@@ -382,13 +586,14 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public Model run( final Session session ) throws Exception {
-                return new ModelImpl( manager, modelNode( session ).getPath() );
+                final Node node = modelNode( session );
+                return new ModelImpl( manager, node.getPath(), node.getIdentifier() );
             }
         } );
     }
 
     Node modelNode( final Session session ) throws Exception {
-        Node node = session.getNode( path );
+        Node node = node( session );
         while ( !node.isNodeType( ModelerLexicon.MODEL_MIXIN ) )
             node = node.getParent();
         return node;
@@ -406,7 +611,7 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public String run( final Session session ) throws Exception {
-                return path.substring( modelNode( session ).getPath().length() + 1 );
+                return node( session ).getPath().substring( modelNode( session ).getPath().length() + 1 );
             }
         } );
     }
@@ -422,11 +627,22 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public String run( final Session session ) throws Exception {
-                return session.getNode( path ).getName();
+                return node( session ).getName();
             }
         } );
     }
 
+    /**
+     * @param session
+     *        a session
+     * @return this model object's node, looked up by its identifier if known, else by its path
+     * @throws RepositoryException
+     *         if the node cannot be found, including if it has been removed even though another node now exists at its original path
+     */
+    Node node( final Session session ) throws RepositoryException {
+        return id == null ? session.getNode( path ) : session.getNodeByIdentifier( id );
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -438,7 +654,47 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public String run( final Session session ) throws Exception {
-                return session.getNode( path ).getProperty( JcrLexicon.PRIMARY_TYPE.toString() ).getString();
+                return node( session ).getProperty( JcrLexicon.PRIMARY_TYPE.toString() ).getString();
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#properties()
+     */
+    @Override
+    public Map< String, Object > properties() throws ModelerException {
+        return manager.run( new Task< Map< String, Object > >() {
+
+            @Override
+            public Map< String, Object > run( final Session session ) throws Exception {
+                return properties( node( session ) );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#properties(java.lang.String[])
+     */
+    @Override
+    public Map< String, Object > properties( final String... propertyNames ) throws ModelerException {
+        CheckArg.isNotEmpty( propertyNames, "propertyNames" );
+        for ( final String propertyName : propertyNames )
+            CheckArg.isNotEmpty( propertyName, "propertyName" );
+        return manager.run( new Task< Map< String, Object > >() {
+
+            @Override
+            public Map< String, Object > run( final Session session ) throws Exception {
+                final Node node = node( session );
+                final Map< String, Object > valuesByName = new LinkedHashMap<>();
+                for ( final String propertyName : propertyNames )
+                    if ( node.hasProperty( propertyName ) )
+                        valuesByName.put( propertyName, value( node.getProperty( propertyName ) ) );
+                return valuesByName;
             }
         } );
     }
@@ -456,7 +712,7 @@ public class ModelObjectImpl implements ModelObject {
             @Override
             public Boolean run( final Session session ) throws Exception {
                 try {
-                    return session.getNode( path ).getProperty( propertyName ).isMultiple();
+                    return node( session ).getProperty( propertyName ).isMultiple();
                 } catch ( final PathNotFoundException e ) {
                     return false;
                 }
@@ -475,13 +731,34 @@ public class ModelObjectImpl implements ModelObject {
 
             @Override
             public String[] run( final Session session ) throws Exception {
-                final List< String > names = new ArrayList<>();
-                for ( final PropertyIterator iter = session.getNode( path ).getProperties(); iter.hasNext(); ) {
-                    final String name = iter.nextProperty().getName();
-                    if ( !name.startsWith( JcrLexicon.Namespace.PREFIX ) && !name.startsWith( ModelerLexicon.NAMESPACE_PREFIX ) )
-                        names.add( name );
-                }
-                return names.toArray( new String[ names.size() ] );
+                return propertyNames( node( session ) );
+            }
+        } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#snapshot()
+     */
+    @Override
+    public ModelObjectSnapshot snapshot() throws ModelerException {
+        return snapshot( 0 );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#snapshot(int)
+     */
+    @Override
+    public ModelObjectSnapshot snapshot( final int depth ) throws ModelerException {
+        CheckArg.isNonNegative( depth, "depth" );
+        return manager.run( new Task< ModelObjectSnapshot >() {
+
+            @Override
+            public ModelObjectSnapshot run( final Session session ) throws Exception {
+                return new ModelObjectSnapshotImpl( ModelObjectImpl.this, node( session ), depth );
             }
         } );
     }
@@ -499,7 +776,7 @@ public class ModelObjectImpl implements ModelObject {
             @Override
             public String run( final Session session ) throws Exception {
                 try {
-                    return session.getNode( path ).getProperty( propertyName ).getString();
+                    return node( session ).getProperty( propertyName ).getString();
                 } catch ( final ValueFormatException e ) {
                     throw new IllegalArgumentException( e );
                 } catch ( final PathNotFoundException e ) {
@@ -522,7 +799,7 @@ public class ModelObjectImpl implements ModelObject {
             @Override
             public String[] run( final Session session ) throws Exception {
                 try {
-                    final Property prop = session.getNode( path ).getProperty( propertyName );
+                    final Property prop = node( session ).getProperty( propertyName );
                     if ( !prop.isMultiple() ) return new String[] { prop.getString() };
                     final Value[] vals = prop.getValues();
                     final String[] stringVals = new String[ vals.length ];
@@ -547,4 +824,118 @@ public class ModelObjectImpl implements ModelObject {
     public String toString() {
         return path;
     }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObject#walk(org.modeshape.modeler.ModelObjectVisitor, int)
+     */
+    @Override
+    public boolean walk( final ModelObjectVisitor visitor,
+                         final int depth ) throws ModelerException {
+        CheckArg.isNotNull( visitor, "visitor" );
+        CheckArg.isNonNegative( depth, "depth" );
+        return manager.run( new Task< Boolean >() {
+
+            @Override
+            public Boolean run( final Session session ) throws Exception {
+                return walk( node( session ), index, 0, depth, visitor, new ModelObjectViewImpl( ModelObjectImpl.this ) );
+            }
+        } );
+    }
+
+    private boolean walk( final Node node,
+                          final int nodeIndex,
+                          final int nodeDepth,
+                          final int depth,
+                          final ModelObjectVisitor visitor,
+                          final ModelObjectViewImpl view ) throws Exception {
+        view.position( node, nodeDepth, nodeIndex );
+        final Result result = visitor.visit( view );
+        if ( result == Result.TERMINATE ) return false;
+        if ( result == Result.SKIP_CHILDREN || nodeDepth == depth ) return true;
+        for ( final NodeIterator iter = node.getNodes(); iter.hasNext(); ) {
+            final Node child = iter.nextNode();
+            if ( !walk( child, child.getIndex() - 1, nodeDepth + 1, depth, visitor, view ) ) return false;
+        }
+        return true;
+    }
+
+    private final class ChildIterator implements Iterator< ModelObject > {
+
+        private final int pageSize;
+        private ModelObject[] page = new ModelObject[ 0 ];
+        private int pageNdx;
+        private int offset;
+        private boolean lastPage;
+        // The session that fetched the last page and its iterator, positioned after that page's children
+        private Session session;
+        private NodeIterator iterator;
+
+        ChildIterator( final int pageSize ) {
+            this.pageSize = pageSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext() {
+            if ( pageNdx < page.length ) return true;
+            if ( lastPage ) return false;
+            try {
+                page = manager.run( new Task< ModelObject[] >() {
+
+                    @Override
+                    public ModelObject[] run( final Session session ) throws Exception {
+                        // The pool normally hands this thread back the same session, so continue from the end of the last page
+                        // rather than skipping from the first child again, which keeps iterating linear in the number of children
+                        if ( session != ChildIterator.this.session ) {
+                            ChildIterator.this.session = session;
+                            iterator = node( session ).getNodes();
+                            try {
+                                iterator.skip( offset );
+                            } catch ( final NoSuchElementException e ) {
+                                return new ModelObject[ 0 ];
+                            }
+                        }
+                        return children( iterator, pageSize );
+                    }
+                } );
+            } catch ( final ModelerException e ) {
+                throw new IllegalStateException( e );
+            }
+            offset += page.length;
+            pageNdx = 0;
+            lastPage = page.length < pageSize;
+            if ( lastPage ) {
+                session = null;
+                iterator = null;
+            }
+            return page.length > 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see java.util.Iterator#next()
+         */
+        @Override
+        public ModelObject next() {
+            if ( !hasNext() ) throw new NoSuchElementException();
+            return page[ pageNdx++ ];
+        }
+
+        /**
+         * {@inheritDoc}
+         * 
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -0,0 +1,220 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+
+import org.modeshape.modeler.ModelObject;
+import org.modeshape.modeler.ModelObjectSnapshot;
+
+/**
+ * An immutable view of a model object's state, captured from its node while the node's session is open.
+ */
+final class ModelObjectSnapshotImpl implements ModelObjectSnapshot {
+
+    private static Object copy( final Object value ) {
+        if ( value instanceof Calendar ) return ( ( Calendar ) value ).clone();
+        if ( !( value instanceof Object[] ) ) return value;
+        final Object[] values = ( ( Object[] ) value ).clone();
+        for ( int ndx = 0; ndx < values.length; ndx++ )
+            values[ ndx ] = copy( values[ ndx ] );
+        return values;
+    }
+
+    private final ModelObjectImpl modelObject;
+    private final String name;
+    private final String primaryType;
+    private final String[] mixinTypes;
+    private final Map< String, Object > valuesByName;
+    private final ModelObject[] children;
+    private final ModelObjectSnapshot[] childSnapshots;
+
+    /**
+     * @param modelObject
+     *        the model object being captured
+     * @param node
+     *        the model object's node
+     * @param depth
+     *        the number of levels of descendants to capture
+     * @throws Exception
+     *         if any problem occurs
+     */
+    ModelObjectSnapshotImpl( final ModelObjectImpl modelObject,
+                             final Node node,
+                             final int depth ) throws Exception {
+        this.modelObject = modelObject;
+        name = node.getName();
+        primaryType = node.getPrimaryNodeType().getName();
+        mixinTypes = ModelObjectImpl.mixinTypes( node );
+        valuesByName = ModelObjectImpl.properties( node );
+        final List< ModelObject > children = new ArrayList<>();
+        final List< ModelObjectSnapshot > childSnapshots = depth > 0 ? new ArrayList< ModelObjectSnapshot >() : null;
+        for ( final NodeIterator iter = node.getNodes(); iter.hasNext(); ) {
+            final Node child = iter.nextNode();
+            final ModelObjectImpl childObject =
+                new ModelObjectImpl( modelObject.manager, child.getPath(), child.getIdentifier(), child.getIndex() - 1 );
+            children.add( childObject );
+            if ( childSnapshots != null ) childSnapshots.add( new ModelObjectSnapshotImpl( childObject, child, depth - 1 ) );
+        }
+        this.children = children.toArray( new ModelObject[ children.size() ] );
+        this.childSnapshots =
+            childSnapshots == null ? null : childSnapshots.toArray( new ModelObjectSnapshot[ childSnapshots.size() ] );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#absolutePath()
+     */
+    @Override
+    public String absolutePath() {
+        return modelObject.path;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#children()
+     */
+    @Override
+    public ModelObject[] children() {
+        return children.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#childSnapshots()
+     */
+    @Override
+    public ModelObjectSnapshot[] childSnapshots() {
+        return childSnapshots == null ? null : childSnapshots.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#hasProperty(java.lang.String)
+     */
+    @Override
+    public boolean hasProperty( final String propertyName ) {
+        return valuesByName.containsKey( propertyName );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#index()
+     */
+    @Override
+    public int index() {
+        return modelObject.index;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#mixinTypes()
+     */
+    @Override
+    public String[] mixinTypes() {
+        return mixinTypes.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#modelObject()
+     */
+    @Override
+    public ModelObject modelObject() {
+        return modelObject;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#name()
+     */
+    @Override
+    public String name() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#primaryType()
+     */
+    @Override
+    public String primaryType() {
+        return primaryType;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#propertyHasMultipleValues(java.lang.String)
+     */
+    @Override
+    public boolean propertyHasMultipleValues( final String propertyName ) {
+        return valuesByName.get( propertyName ) instanceof Object[];
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#propertyNames()
+     */
+    @Override
+    public String[] propertyNames() {
+        return valuesByName.keySet().toArray( new String[ valuesByName.size() ] );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return modelObject.path;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectSnapshot#value(java.lang.String)
+     */
+    @Override
+    public Object value( final String propertyName ) {
+        return copy( valuesByName.get( propertyName ) );
+    }
+}
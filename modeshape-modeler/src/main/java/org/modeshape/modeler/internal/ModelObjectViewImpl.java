@@ -0,0 +1,205 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import java.util.Map;
+
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+
+import org.modeshape.common.util.CheckArg;
+import org.modeshape.modeler.ModelObject;
+import org.modeshape.modeler.ModelObjectView;
+import org.modeshape.modeler.ModelerException;
+
+/**
+ * A view of the node currently being visited during a walk, which is repositioned on each visited node rather than re-created.
+ */
+final class ModelObjectViewImpl implements ModelObjectView {
+
+    private final ModelObjectImpl modelObject;
+    private Node node;
+    private int depth;
+    private int index;
+
+    /**
+     * @param modelObject
+     *        the model object being walked
+     */
+    ModelObjectViewImpl( final ModelObjectImpl modelObject ) {
+        this.modelObject = modelObject;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#absolutePath()
+     */
+    @Override
+    public String absolutePath() throws ModelerException {
+        try {
+            return node.getPath();
+        } catch ( final RepositoryException e ) {
+            throw new ModelerException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#depth()
+     */
+    @Override
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#index()
+     */
+    @Override
+    public int index() {
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#mixinTypes()
+     */
+    @Override
+    public String[] mixinTypes() throws ModelerException {
+        try {
+            return ModelObjectImpl.mixinTypes( node );
+        } catch ( final RepositoryException e ) {
+            throw new ModelerException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#modelObject()
+     */
+    @Override
+    public ModelObject modelObject() throws ModelerException {
+        if ( depth == 0 ) return modelObject;
+        try {
+            return new ModelObjectImpl( modelObject.manager, node.getPath(), node.getIdentifier(), index );
+        } catch ( final RepositoryException e ) {
+            throw new ModelerException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#name()
+     */
+    @Override
+    public String name() throws ModelerException {
+        try {
+            return node.getName();
+        } catch ( final RepositoryException e ) {
+            throw new ModelerException( e );
+        }
+    }
+
+    void position( final Node node,
+                   final int depth,
+                   final int index ) {
+        this.node = node;
+        this.depth = depth;
+        this.index = index;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#primaryType()
+     */
+    @Override
+    public String primaryType() throws ModelerException {
+        try {
+            return node.getPrimaryNodeType().getName();
+        } catch ( final RepositoryException e ) {
+            throw new ModelerException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#properties()
+     */
+    @Override
+    public Map< String, Object > properties() throws ModelerException {
+        try {
+            return ModelObjectImpl.properties( node );
+        } catch ( final RepositoryException e ) {
+            throw new ModelerException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#propertyNames()
+     */
+    @Override
+    public String[] propertyNames() throws ModelerException {
+        try {
+            return ModelObjectImpl.propertyNames( node );
+        } catch ( final RepositoryException e ) {
+            throw new ModelerException( e );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return String.valueOf( node );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.modeler.ModelObjectView#value(java.lang.String)
+     */
+    @Override
+    public Object value( final String propertyName ) throws ModelerException {
+        CheckArg.isNotEmpty( propertyName, "propertyName" );
+        try {
+            return node.hasProperty( propertyName ) ? ModelObjectImpl.value( node.getProperty( propertyName ) ) : null;
+        } catch ( final RepositoryException e ) {
+            throw new ModelerException( e );
+        }
+    }
+}
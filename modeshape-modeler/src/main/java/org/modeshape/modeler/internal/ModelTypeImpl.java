@@ -23,7 +23,11 @@
  */
 package org.modeshape.modeler.internal;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import javax.jcr.Session;
@@ -43,27 +47,68 @@ import org.modeshape.modeler.extensions.Desequencer;
  */
 public final class ModelTypeImpl implements ModelType {
 
+    /**
+     * The sequencers known to read nothing of their input property but its value, and so able to sequence content that has not been
+     * stored in the workspace
+     */
+    private static final Set< String > DETACHED_INPUT_SEQUENCER_CLASS_NAMES =
+        Collections.unmodifiableSet( new HashSet<>( Arrays.asList( "org.modeshape.sequencer.xml.XmlSequencer" ) ) );
+
+    /**
+     * The source file extensions of the artifacts sequenced by the sequencers whose extensions are known, as sequencers do not report
+     * them
+     */
+    private static final Map< String, String[] > SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME = new HashMap<>();
+
+    private static final String[] NO_EXTENSIONS = new String[ 0 ];
+
+    static {
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.classfile.ClassFileSequencer",
+                                                            new String[] { "class" } );
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.ddl.DdlSequencer", new String[] { "ddl" } );
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.javafile.JavaFileSequencer",
+                                                            new String[] { "java" } );
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.teiid.VdbSequencer", new String[] { "vdb" } );
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.teiid.model.ModelSequencer",
+                                                            new String[] { "xmi" } );
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.wsdl.WsdlSequencer", new String[] { "wsdl" } );
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.xml.XmlSequencer", new String[] { "xml" } );
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.xsd.XsdSequencer", new String[] { "xsd" } );
+        SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.put( "org.modeshape.sequencer.zip.ZipSequencer",
+                                                            new String[] { "zip", "jar", "war", "ear" } );
+    }
+
     private final Manager manager;
-    final Class< Sequencer > sequencerClass;
+    private final ClassLoader classLoader;
+    private final String sequencerClassName;
+    private volatile Class< Sequencer > sequencerClass;
     final Class< DependencyProcessor > dependencyProcessorClass;
     final Class< Desequencer > desequencerClass;
     private final String category;
     private final String id;
     private String name;
-    private final Set< String > sourceFileExtensions = new HashSet<>();
+    private final String[] sourceFileExtensions;
+    private volatile Sequencer sequencer;
+    private volatile String[] mimeTypes;
 
     ModelTypeImpl( final Manager manager,
                    final String category,
                    final String id,
-                   final Class< Sequencer > sequencerClass,
+                   final ClassLoader classLoader,
+                   final String sequencerClassName,
                    final Class< DependencyProcessor > dependencyProcessorClass,
-                   final Class< Desequencer > desequencerClass ) {
+                   final Class< Desequencer > desequencerClass,
+                   final String[] mimeTypes ) {
         this.manager = manager;
         this.category = category;
         this.id = id;
-        this.sequencerClass = sequencerClass;
+        this.classLoader = classLoader;
+        this.sequencerClassName = sequencerClassName;
         this.dependencyProcessorClass = dependencyProcessorClass;
         this.desequencerClass = desequencerClass;
+        this.mimeTypes = mimeTypes;
+        final String[] sourceFileExtensions = SOURCE_FILE_EXTENSIONS_BY_SEQUENCER_CLASS_NAME.get( sequencerClassName );
+        this.sourceFileExtensions = sourceFileExtensions == null ? NO_EXTENSIONS : sourceFileExtensions;
     }
 
     /**
@@ -114,6 +159,21 @@ public final class ModelTypeImpl implements ModelType {
         return id;
     }
 
+    /**
+     * @return the MIME types accepted by this model type's sequencer; empty if it accepts all MIME types. Determining them, if they
+     *         were not supplied when this model type was created, requires initializing the sequencer.
+     * @throws ModelerException
+     *         if any problem occurs initializing the sequencer
+     */
+    String[] mimeTypes() throws ModelerException {
+        String[] mimeTypes = this.mimeTypes;
+        if ( mimeTypes == null ) {
+            final Set< String > acceptedMimeTypes = sequencer().getAcceptedMimeTypes();
+            this.mimeTypes = mimeTypes = acceptedMimeTypes.toArray( new String[ acceptedMimeTypes.size() ] );
+        }
+        return mimeTypes;
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -124,17 +184,12 @@ public final class ModelTypeImpl implements ModelType {
         return name;
     }
 
-    /**
-     * @return this model type's sequencer
-     * @throws ModelerException
-     *         if any problem occurs
-     */
-    public Sequencer sequencer() throws ModelerException {
+    private Sequencer newSequencer() throws ModelerException {
         return manager.run( new Task< Sequencer >() {
 
             @Override
             public Sequencer run( final Session session ) throws Exception {
-                final Sequencer sequencer = sequencerClass.newInstance();
+                final Sequencer sequencer = sequencerClass().newInstance();
                 // Initialize
                 ReflectionUtil.setValue( sequencer, "logger", ExtensionLogger.getLogger( sequencer.getClass() ) );
                 ReflectionUtil.setValue( sequencer, "repositoryName",
@@ -147,6 +202,58 @@ public final class ModelTypeImpl implements ModelType {
         } );
     }
 
+    /**
+     * The sequencer is created and initialized the first time it is requested, then shared by all callers, as ModeShape requires
+     * sequencers to be thread-safe. A reinstalled model type gets a new instance of this class, and so a newly initialized sequencer.
+     * 
+     * @return this model type's sequencer
+     * @throws ModelerException
+     *         if any problem occurs
+     */
+    public Sequencer sequencer() throws ModelerException {
+        Sequencer sequencer = this.sequencer;
+        if ( sequencer == null ) {
+            synchronized ( this ) {
+                sequencer = this.sequencer;
+                if ( sequencer == null ) this.sequencer = sequencer = newSequencer();
+            }
+        }
+        return sequencer;
+    }
+
+    /**
+     * The sequencer class is loaded the first time it is requested, so that model types that are never used cost nothing to load.
+     * 
+     * @return this model type's sequencer class; never <code>null</code>.
+     * @throws ModelerException
+     *         if the class cannot be loaded
+     */
+    @SuppressWarnings( "unchecked" )
+    Class< Sequencer > sequencerClass() throws ModelerException {
+        Class< Sequencer > sequencerClass = this.sequencerClass;
+        if ( sequencerClass == null ) try {
+            this.sequencerClass = sequencerClass = ( Class< Sequencer > ) classLoader.loadClass( sequencerClassName );
+        } catch ( final ClassNotFoundException | LinkageError e ) {
+            throw new ModelerException( e );
+        }
+        return sequencerClass;
+    }
+
+    /**
+     * @return the name of this model type's sequencer class; never <code>null</code>.
+     */
+    String sequencerClassName() {
+        return sequencerClassName;
+    }
+
+    /**
+     * @return <code>true</code> if this model type's sequencer is known to only read its input property's value, so that it may be
+     *         handed a {@link SpooledBinary#property() detached property} rather than one belonging to a stored artifact
+     */
+    public boolean sequencesDetachedInput() {
+        return DETACHED_INPUT_SEQUENCER_CLASS_NAMES.contains( sequencerClassName );
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -164,7 +271,7 @@ public final class ModelTypeImpl implements ModelType {
      */
     @Override
     public String[] sourceFileExtensions() {
-        return sourceFileExtensions.toArray( new String[ sourceFileExtensions.size() ] );
+        return sourceFileExtensions.clone();
     }
 
     /**
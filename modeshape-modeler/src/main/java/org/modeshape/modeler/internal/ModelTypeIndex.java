@@ -0,0 +1,109 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.modeshape.modeler.ModelType;
+import org.modeshape.modeler.ModelerException;
+
+/**
+ * An immutable index of installed model types by the MIME types their sequencers accept and by their source file extensions, so
+ * that determining the model types applicable to an artifact requires only hash lookups.
+ */
+final class ModelTypeIndex {
+
+    private static final ModelType[] NO_TYPES = new ModelType[ 0 ];
+
+    private final Map< String, Set< ModelType > > modelTypesByMimeType = new HashMap<>();
+    private final Set< ModelType > modelTypesAcceptingAllMimeTypes = new LinkedHashSet<>();
+    private final Map< String, Set< ModelType > > modelTypesByExtension = new HashMap<>();
+    final ModelTypeRegistry registry;
+
+    /**
+     * @param registry
+     *        the registry of the installed model types, whose accepted MIME types must already be known, so that building the index
+     *        initializes no sequencers
+     * @throws ModelerException
+     *         if the MIME types accepted by a model type's sequencer cannot be determined
+     */
+    ModelTypeIndex( final ModelTypeRegistry registry ) throws ModelerException {
+        this.registry = registry;
+        for ( final ModelType type : registry.modelTypes() ) {
+            final String[] mimeTypes = ( ( ModelTypeImpl ) type ).mimeTypes();
+            if ( mimeTypes.length == 0 ) modelTypesAcceptingAllMimeTypes.add( type );
+            for ( final String mimeType : mimeTypes )
+                add( modelTypesByMimeType, mimeType, type );
+            for ( final String ext : type.sourceFileExtensions() )
+                add( modelTypesByExtension, ext.toLowerCase(), type );
+        }
+    }
+
+    private void add( final Map< String, Set< ModelType > > modelTypesByKey,
+                      final String key,
+                      final ModelType type ) {
+        Set< ModelType > types = modelTypesByKey.get( key );
+        if ( types == null ) {
+            types = new LinkedHashSet<>();
+            modelTypesByKey.put( key, types );
+        }
+        types.add( type );
+    }
+
+    /**
+     * @param fileName
+     *        the name of an artifact
+     * @param modelTypes
+     *        the model types applicable to the artifact
+     * @return the first of the supplied model types associated with the artifact's extension, else the first of the supplied model
+     *         types, or <code>null</code> if none are supplied
+     */
+    ModelType defaultModelType( final String fileName,
+                                final ModelType[] modelTypes ) {
+        if ( modelTypes.length == 0 ) return null;
+        final Set< ModelType > types = modelTypesByExtension.get( fileName.substring( fileName.lastIndexOf( '.' ) + 1 )
+                                                                          .toLowerCase() );
+        if ( types != null ) for ( final ModelType type : modelTypes )
+            if ( types.contains( type ) ) return type;
+        return modelTypes[ 0 ];
+    }
+
+    /**
+     * @param mimeType
+     *        a MIME type; may be <code>null</code>.
+     * @return the model types whose sequencers accept the supplied MIME type, or all model types if it is <code>null</code>, as a
+     *         sequencer accepts an unknown MIME type; never <code>null</code>.
+     */
+    ModelType[] modelTypes( final String mimeType ) {
+        if ( mimeType == null ) return registry.modelTypes();
+        final Set< ModelType > mimeTypeTypes = modelTypesByMimeType.get( mimeType );
+        if ( mimeTypeTypes == null ) return modelTypesAcceptingAllMimeTypes.toArray( NO_TYPES );
+        final Set< ModelType > types = new LinkedHashSet<>( mimeTypeTypes );
+        types.addAll( modelTypesAcceptingAllMimeTypes );
+        return types.toArray( new ModelType[ types.size() ] );
+    }
+}
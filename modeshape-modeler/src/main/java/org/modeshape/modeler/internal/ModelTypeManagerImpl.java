@@ -23,29 +23,60 @@
  */
 package org.modeshape.modeler.internal;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Modifier;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.Property;
 import javax.jcr.Repository;
+import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Value;
 import javax.jcr.nodetype.NodeType;
@@ -55,7 +86,10 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.modeshape.common.util.CheckArg;
+import org.modeshape.common.util.SecureHash;
+import org.modeshape.common.util.SecureHash.Algorithm;
 import org.modeshape.jcr.JcrLexicon;
+import org.modeshape.jcr.api.Binary;
 import org.modeshape.jcr.api.JcrTools;
 import org.modeshape.jcr.api.sequencer.Sequencer;
 import org.modeshape.modeler.ModeShapeModeler;
@@ -71,31 +105,61 @@ import org.polyglotter.common.Logger;
  */
 public final class ModelTypeManagerImpl implements ModelTypeManager {
 
+    /**
+     * The system property that may be set to the number of milliseconds the installable model type categories of a model type
+     * repository are cached before being retrieved again from the repository
+     */
+    public static final String INSTALLABLE_MODEL_TYPE_CATEGORIES_TTL_PROPERTY =
+        "org.modeshape.modeler.installableModelTypeCategoriesTtl";
+
+    /**
+     * The default number of milliseconds the installable model type categories of a model type repository are cached. Value is
+     * {@value} .
+     */
+    public static final long DEFAULT_INSTALLABLE_MODEL_TYPE_CATEGORIES_TTL = 24 * 60 * 60 * 1000;
+
+    /**
+     * The system property that may be set to the path of the folder in which downloaded model type archives are cached. By default,
+     * archives are cached in a <code>modeshape-modeler/archives</code> folder within the <code>java.io.tmpdir</code> folder.
+     */
+    public static final String ARCHIVE_CACHE_PATH_PROPERTY = "org.modeshape.modeler.archiveCachePath";
+
     static final Logger LOGGER = Logger.getLogger( ModelTypeManagerImpl.class );
 
+    private static final ConcurrentMap< String, Object > DOWNLOAD_LOCKS = new ConcurrentHashMap<>();
+
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
     private static final String MODESHAPE_GROUP = "org/modeshape";
 
+    private static final String SEQUENCER_CLASS_NAME = Sequencer.class.getName();
+
     final Manager manager;
 
     final LinkedList< URL > modelTypeRepositories = new LinkedList<>();
 
-    final Set< ModelType > modelTypes = new HashSet<>();
-    final LibraryClassLoader libraryClassLoader = new LibraryClassLoader();
+    private volatile ModelTypeRegistry registry = ModelTypeRegistry.EMPTY;
+    final ConcurrentMap< String, LibraryClassLoader > classLoadersByCategory = new ConcurrentHashMap<>();
+    LibraryClassLoader sharedClassLoader = new LibraryClassLoader( ModelTypeManagerImpl.class.getClassLoader() );
+    // The categories referencing each jar in the library, by the jar's SHA-1 hash
+    Map< String, Set< String > > categoriesByJar = new HashMap<>();
     final Map< String, Set< String > > potentialSequencerClassNamesByCategory = new HashMap<>();
     final Path library;
     final Map< String, DependencyProcessor > dependencyProcessorsByModelTypeName = new HashMap<>();
+    final Map< String, InstallableCategories > installableCategoriesByRepository = new ConcurrentHashMap<>();
+    private volatile ModelTypeIndex index;
 
     ModelTypeManagerImpl( final Manager manager ) throws ModelerException {
         this.manager = manager;
+        library = Paths.get( System.getProperty( Manager.REPOSITORY_STORE_PARENT_PATH_PROPERTY ), "modelerRepository", "library" );
         try {
-            library = Files.createTempDirectory( null );
+            Files.createDirectories( library );
         } catch ( final IOException e ) {
             throw new ModelerException( e );
         }
-        library.toFile().deleteOnExit();
+        index = new ModelTypeIndex( registry );
         manager.run( this, new SystemTask< Void >() {
 
-            @SuppressWarnings( "unchecked" )
             @Override
             public Void run( final Session session,
                              final Node systemNode ) throws Exception {
@@ -114,33 +178,70 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
                     systemNode.addNode( ModelerLexicon.JARS );
                     session.save();
                 }
+                if ( migrateJars( session, systemNode.getNode( ModelerLexicon.JARS ) ) ) session.save();
+                final Set< Path > jarPaths = new HashSet<>();
                 for ( final NodeIterator iter = systemNode.getNode( ModelerLexicon.JARS ).getNodes(); iter.hasNext(); ) {
                     final Node node = iter.nextNode();
-                    final Path jarPath = library.resolve( node.getName() );
-                    try ( InputStream stream =
-                        node.getNode( JcrLexicon.CONTENT.getString() ).getProperty( JcrLexicon.DATA.getString() ).getBinary()
-                            .getStream() ) {
-                        Files.copy( stream, jarPath );
+                    final Path jarPath = library.resolve( node.getName() + ".jar" );
+                    final Binary binary =
+                        ( Binary ) node.getNode( JcrLexicon.CONTENT.getString() ).getProperty( JcrLexicon.DATA.getString() )
+                                       .getBinary();
+                    // Only re-materialize jars missing from the library or whose content differs from the stored jar
+                    if ( Files.exists( jarPath ) && binary.getHexHash().equals( sha1( jarPath ) ) )
+                        LOGGER.debug( "Verified jar: %s", jarPath );
+                    else {
+                        try ( InputStream stream = binary.getStream() ) {
+                            Files.copy( stream, jarPath, StandardCopyOption.REPLACE_EXISTING );
+                        }
+                        LOGGER.debug( "Installed jar: %s", jarPath );
                     }
-                    jarPath.toFile().deleteOnExit();
-                    libraryClassLoader.addURL( jarPath.toUri().toURL() );
-                    LOGGER.debug( "Installed jar: %s", jarPath );
+                    jarPaths.add( jarPath );
+                    categoriesByJar.put( node.getName(), categories( node ) );
+                }
+                layoutClassLoaders();
+                // Remove jars no longer stored in the repository, e.g., if uninstalled by another modeler
+                try ( DirectoryStream< Path > stream = Files.newDirectoryStream( library ) ) {
+                    for ( final Path path : stream )
+                        if ( !jarPaths.contains( path ) ) {
+                            Files.deleteIfExists( path );
+                            LOGGER.debug( "Removed stale library file: %s", path );
+                        }
                 }
                 // Load model types
                 if ( !systemNode.hasNode( ModelerLexicon.MODEL_TYPES ) ) {
                     systemNode.addNode( ModelerLexicon.MODEL_TYPES );
                     session.save();
                 }
+                final List< ModelType > types = new ArrayList<>();
+                boolean mimeTypesSaved = false;
                 for ( final NodeIterator iter = systemNode.getNode( ModelerLexicon.MODEL_TYPES ).getNodes(); iter.hasNext(); ) {
                     final Node node = iter.nextNode();
-                    modelTypes.add( new ModelTypeImpl( manager,
-                                                       node.getProperty( ModelerLexicon.CATEGORY ).getString(),
-                                                       node.getName(),
-                                                       ( Class< Sequencer > ) libraryClassLoader.loadClass( node.getProperty( ModelerLexicon.SEQUENCER_CLASS )
-                                                                                                                .getString() ),
-                                                       null,
-                                                       null ) );
+                    String[] mimeTypes = null;
+                    if ( node.hasProperty( ModelerLexicon.MIME_TYPES ) ) {
+                        final Value[] vals = node.getProperty( ModelerLexicon.MIME_TYPES ).getValues();
+                        mimeTypes = new String[ vals.length ];
+                        for ( int ndx = 0; ndx < vals.length; ndx++ )
+                            mimeTypes[ ndx ] = vals[ ndx ].getString();
+                    }
+                    // Sequencer classes are loaded on first use
+                    final String category = node.getProperty( ModelerLexicon.CATEGORY ).getString();
+                    final ModelTypeImpl type = new ModelTypeImpl( manager,
+                                                                  category,
+                                                                  node.getName(),
+                                                                  classLoader( category ),
+                                                                  node.getProperty( ModelerLexicon.SEQUENCER_CLASS ).getString(),
+                                                                  null,
+                                                                  null,
+                                                                  mimeTypes );
+                    // Model types saved before their MIME types were saved must consult their sequencers, but only this once
+                    if ( mimeTypes == null ) {
+                        node.setProperty( ModelerLexicon.MIME_TYPES, type.mimeTypes() );
+                        mimeTypesSaved = true;
+                    }
+                    types.add( type );
                 }
+                if ( mimeTypesSaved ) session.save();
+                publish( new ModelTypeRegistry( types ) );
                 // Load potential sequencer class names
                 if ( !systemNode.hasNode( ModelerLexicon.POTENTIAL_SEQUENCER_CLASS_NAMES_BY_CATEGORY ) ) {
                     systemNode.addNode( ModelerLexicon.POTENTIAL_SEQUENCER_CLASS_NAMES_BY_CATEGORY );
@@ -154,15 +255,108 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
                         names.add( val.getString() );
                     potentialSequencerClassNamesByCategory.put( node.getName(), names );
                 }
+                // Load cached installable model type categories
+                if ( !systemNode.hasNode( ModelerLexicon.INSTALLABLE_MODEL_TYPE_CATEGORIES ) ) {
+                    systemNode.addNode( ModelerLexicon.INSTALLABLE_MODEL_TYPE_CATEGORIES );
+                    session.save();
+                }
+                for ( final NodeIterator iter =
+                    systemNode.getNode( ModelerLexicon.INSTALLABLE_MODEL_TYPE_CATEGORIES ).getNodes(); iter.hasNext(); ) {
+                    final Node node = iter.nextNode();
+                    final Set< String > categories = new HashSet<>();
+                    for ( final Value val : node.getProperty( ModelerLexicon.CATEGORIES ).getValues() )
+                        categories.add( val.getString() );
+                    installableCategoriesByRepository.put( node.getProperty( ModelerLexicon.REPOSITORY_URL ).getString(),
+                                                           new InstallableCategories( categories,
+                                                                                      node.getProperty( ModelerLexicon.REFRESHED )
+                                                                                          .getLong() ) );
+                }
                 return null;
             }
         } );
     }
 
+    /**
+     * @return the folder containing archives downloaded by any modeler on this host
+     */
+    Path archiveCache() {
+        final String path = System.getProperty( ARCHIVE_CACHE_PATH_PROPERTY );
+        return path == null ? Paths.get( System.getProperty( "java.io.tmpdir" ), "modeshape-modeler", "archives" ) : Paths.get( path );
+    }
+
     String archiveName( final String category ) throws ModelerException {
         return "modeshape-sequencer-" + category + "-" + version() + "-module-with-dependencies.zip";
     }
 
+    /**
+     * @param jarNode
+     *        a system workspace jar node
+     * @return the categories whose archives contain the supplied jar; never <code>null</code>.
+     * @throws RepositoryException
+     *         if the categories cannot be read
+     */
+    static Set< String > categories( final Node jarNode ) throws RepositoryException {
+        final Set< String > categories = new LinkedHashSet<>();
+        if ( jarNode.hasProperty( ModelerLexicon.CATEGORIES ) )
+            for ( final Value val : jarNode.getProperty( ModelerLexicon.CATEGORIES ).getValues() )
+                categories.add( val.getString() );
+        return categories;
+    }
+
+    /**
+     * Reads the header of a class file visible to the supplied category. A class found only in another category's jars makes its jar
+     * one of the supplied category's jars too, e.g., the S-RAMP sequencer jar containing the classes XSD sequencers extend, so the
+     * jar moves into the shared class loader rather than categories finding classes in each other's class loaders.
+     * 
+     * @param category
+     *        a model type category
+     * @param className
+     *        the name of a class
+     * @return the class's header, or <code>null</code> if its class file is not in the library or the modeler's class path
+     * @throws IOException
+     *         if the class file cannot be read
+     * @throws ModelerException
+     *         if the jar containing the class cannot be added to the category's jars
+     */
+    private ClassHeader classHeader( final String category,
+                                     final String className ) throws IOException, ModelerException {
+        final String name = className.replace( '.', '/' ) + ".class";
+        URL url = classLoader( category ).getResource( name );
+        if ( url == null ) for ( final LibraryClassLoader classLoader : classLoadersByCategory.values() ) {
+            url = classLoader.findResource( name );
+            if ( url != null ) break;
+        }
+        if ( url == null ) return null;
+        final String jar = jar( url );
+        if ( jar != null && categoriesByJar.get( jar ).add( category ) ) layoutClassLoaders();
+        try ( InputStream stream = classLoader( category ).getResourceAsStream( name ) ) {
+            return stream == null ? null : ClassHeader.read( stream );
+        }
+    }
+
+    /**
+     * @param category
+     *        a model type category
+     * @return the class loader for the jars referenced only by the supplied category, created if necessary; never <code>null</code>.
+     */
+    LibraryClassLoader classLoader( final String category ) {
+        LibraryClassLoader classLoader = classLoadersByCategory.get( category );
+        if ( classLoader == null ) {
+            final LibraryClassLoader newClassLoader = new LibraryClassLoader( sharedClassLoader );
+            classLoader = classLoadersByCategory.putIfAbsent( category, newClassLoader );
+            if ( classLoader == null ) classLoader = newClassLoader;
+        }
+        return classLoader;
+    }
+
+    private static void close( final LibraryClassLoader classLoader ) {
+        if ( classLoader != null ) try {
+            classLoader.close();
+        } catch ( final IOException e ) {
+            LOGGER.debug( "Unable to close class loader: %s", e.getMessage() );
+        }
+    }
+
     /**
      * @param fileNode
      *        the file node
@@ -174,11 +368,7 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
      */
     public ModelType defaultModelType( final Node fileNode,
                                        final ModelType[] modelTypes ) throws Exception {
-        final String ext = fileNode.getName().substring( fileNode.getName().lastIndexOf( '.' ) + 1 );
-        for ( final ModelType type : modelTypes )
-            for ( final String typeExt : type.sourceFileExtensions() )
-                if ( typeExt.equals( ext ) ) return type;
-        return modelTypes.length == 0 ? null : modelTypes[ 0 ];
+        return index.defaultModelType( fileNode.getName(), modelTypes );
     }
 
     /**
@@ -231,185 +421,359 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
     }
 
     /**
-     * {@inheritDoc}
+     * Downloads the archive of the supplied category into the {@link #archiveCache() archive cache}, unless it has already been
+     * downloaded there. The archive is downloaded to a partial file that is resumed if a previous download was interrupted, and only
+     * moved into the cache once its SHA-1 checksum matches that published by the repository. An archive whose repository publishes
+     * no checksum is installed unverified, with a warning. Repositories that cannot be reached are skipped, with a warning, in favor
+     * of the next registered repository. Concurrent downloads of the same archive, by this or another modeler on this host, are serialized so the archive is only downloaded once.
      * 
-     * @see ModelTypeManager#install(String)
+     * @param category
+     *        a model type category
+     * @param archiveName
+     *        the name of the category's archive
+     * @return the path to the cached archive, or <code>null</code> if the archive was not found in any registered model type
+     *         repository
+     * @throws ModelerException
+     *         if the repository version cannot be determined or the downloaded archive does not match its published checksum
+     * @throws IOException
+     *         if the archive cannot be downloaded from any registered model type repository and was not found in all of the others
      */
-    @Override
-    public String[] install( final String category ) throws ModelerException {
-        CheckArg.isNotEmpty( category, "category" );
-        LOGGER.debug( "Installing model types from category %s", category );
-        try {
-            final String archiveName = archiveName( category );
-            // Return if archive has already been installed
-            if ( manager.run( this, new SystemTask< Boolean >() {
-
-                @Override
-                public Boolean run( final Session session,
-                                    final Node systemNode ) throws Exception {
-                    if ( systemNode.hasProperty( ModelerLexicon.ZIPS ) )
-                        for ( final Value val : systemNode.getProperty( ModelerLexicon.ZIPS ).getValues() )
-                            if ( val.getString().equals( archiveName ) ) {
-                                LOGGER.debug( "Archive already installed: %s", archiveName );
-                                return true;
-                            }
-                    return false;
+    private Path download( final String category,
+                           final String archiveName ) throws ModelerException, IOException {
+        final Path cache = archiveCache();
+        final Path archivePath = cache.resolve( archiveName );
+        if ( Files.exists( archivePath ) ) {
+            LOGGER.debug( "Using cached archive: %s", archivePath );
+            return archivePath;
+        }
+        Files.createDirectories( cache );
+        final String sequencerArchivePath =
+            MODESHAPE_GROUP + "/modeshape-sequencer-" + category + '/' + version() + '/' + archiveName;
+        final Object newLock = new Object();
+        Object lock = DOWNLOAD_LOCKS.putIfAbsent( archiveName, newLock );
+        if ( lock == null ) lock = newLock;
+        // File locks are held by the JVM, so also serialize downloads by modelers within this JVM
+        synchronized ( lock ) {
+            try ( FileChannel channel =
+                      FileChannel.open( cache.resolve( archiveName + ".lock" ), StandardOpenOption.CREATE, StandardOpenOption.WRITE );
+                  FileLock fileLock = channel.lock() ) {
+                if ( Files.exists( archivePath ) ) {
+                    LOGGER.debug( "Using archive downloaded by another modeler: %s", archivePath );
+                    return archivePath;
                 }
-            } ) ) return potentialSequencerClassNames();
-            final Path archivePath = library.resolve( archiveName );
-            final String sequencerArchivePath =
-                MODESHAPE_GROUP + "/modeshape-sequencer-" + category + '/' + version() + '/' + archiveName;
-            for ( final URL repositoryUrl : modelTypeRepositories ) {
-                final URL url = new URL( path( repositoryUrl.toString(), sequencerArchivePath ) );
-                InputStream urlStream = null;
-                IOException err = null;
-                try {
+                final Path partPath = cache.resolve( archiveName + ".part" );
+                IOException error = null;
+                for ( final URL repositoryUrl : modelTypeRepositories() ) {
+                    final URL url = new URL( path( repositoryUrl.toString(), sequencerArchivePath ) );
+                    final String sha1;
                     try {
-                        urlStream = url.openStream();
+                        if ( !download( url, partPath ) ) continue;
+                        sha1 = publishedSha1( url );
                     } catch ( final IOException e ) {
+                        // Try the next repository, failing only if the archive cannot be downloaded from any of them
+                        LOGGER.warn( e, ModelerI18n.unableToDownloadArchive, url );
+                        error = e;
                         continue;
                     }
-                    Files.copy( urlStream, archivePath );
-                } catch ( final IOException e ) {
-                    err = e;
-                } finally {
-                    if ( urlStream != null ) try {
-                        urlStream.close();
-                    } catch ( final IOException e ) {
-                        if ( err == null ) throw e;
-                        err.addSuppressed( e );
-                        throw err;
+                    if ( sha1 == null ) LOGGER.warn( ModelerI18n.archiveChecksumNotPublished, url );
+                    else if ( !sha1.equals( sha1( partPath ) ) ) {
+                        Files.delete( partPath );
+                        throw new ModelerException( ModelerI18n.archiveChecksumMismatch, url );
                     }
+                    Files.move( partPath, archivePath, StandardCopyOption.ATOMIC_MOVE );
+                    return archivePath;
                 }
-                try ( final ZipFile archive = new ZipFile( archivePath.toFile() ) ) {
-                    for ( final Enumeration< ? extends ZipEntry > archiveIter = archive.entries(); archiveIter.hasMoreElements(); ) {
-                        final ZipEntry archiveEntry = archiveIter.nextElement();
-                        if ( archiveEntry.isDirectory() ) continue;
-                        String name = archiveEntry.getName().toLowerCase();
-                        if ( !name.endsWith( ".jar" ) || name.endsWith( "-tests.jar" ) || name.endsWith( "-sources.jar" ) ) {
-                            LOGGER.debug( "Ignoring Jar: %s", name );
-                            continue;
-                        }
-                        final Path jarPath =
-                            library.resolve( archiveEntry.getName().substring( archiveEntry.getName().lastIndexOf( '/' ) + 1 ) );
-                        if ( jarPath.toFile().exists() ) {
-                            LOGGER.debug( "Jar already installed: %s", jarPath );
-                            continue;
-                        }
-                        manager.run( this, new SystemTask< Void >() {
-
-                            @Override
-                            public Void run( final Session session,
-                                             final Node systemNode ) throws Exception {
-                                try ( InputStream stream = archive.getInputStream( archiveEntry ) ) {
-                                    final Node node =
-                                        new JcrTools().uploadFile( session,
-                                                                   systemNode.getPath() + '/' + ModelerLexicon.JARS + '/'
-                                                                                   + jarPath.getFileName().toString(),
-                                                                   stream );
-                                    node.addMixin( ModelerLexicon.UNSTRUCTURED_MIXIN );
-                                    node.setProperty( ModelerLexicon.CATEGORY, category );
-                                    session.save();
-                                }
-                                return null;
-                            }
-                        } );
-                        try ( InputStream stream = archive.getInputStream( archiveEntry ) ) {
-                            Files.copy( stream, jarPath );
+                if ( error != null ) throw error;
+            } catch ( final NoSuchAlgorithmException e ) {
+                throw new ModelerException( e );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param url
+     *        the URL of an archive
+     * @param partPath
+     *        the path to the archive's partial download, which is resumed if it exists and the repository supports it
+     * @return <code>false</code> if the archive does not exist at the supplied URL
+     * @throws IOException
+     *         if the archive cannot be downloaded or the download is interrupted
+     */
+    private boolean download( final URL url,
+                              final Path partPath ) throws IOException {
+        final long partSize = Files.exists( partPath ) ? Files.size( partPath ) : 0;
+        final URLConnection connection = url.openConnection();
+        if ( partSize > 0 && connection instanceof HttpURLConnection )
+            connection.setRequestProperty( "Range", "bytes=" + partSize + '-' );
+        final InputStream urlStream;
+        try {
+            urlStream = connection.getInputStream();
+        } catch ( final IOException e ) {
+            if ( notFound( connection, e ) ) return false;
+            if ( partSize > 0 && connection instanceof HttpURLConnection
+                 && ( ( HttpURLConnection ) connection ).getResponseCode() == HTTP_RANGE_NOT_SATISFIABLE ) {
+                // The partial download is at least as large as the archive, so it cannot be resumed; start over
+                LOGGER.debug( "Restarting download of %s, since its partial download cannot be resumed", url );
+                Files.delete( partPath );
+                return download( url, partPath );
+            }
+            throw e;
+        }
+        // Only append to the partial download if the repository honored the range request
+        final boolean resume = partSize > 0 && connection instanceof HttpURLConnection
+                               && ( ( HttpURLConnection ) connection ).getResponseCode() == HttpURLConnection.HTTP_PARTIAL;
+        if ( resume ) LOGGER.debug( "Resuming download of %s after %s bytes", url, partSize );
+        try ( InputStream stream = urlStream;
+              OutputStream out = Files.newOutputStream( partPath,
+                                                        StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE,
+                                                        resume ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING ) ) {
+            final byte[] buf = new byte[ 8192 ];
+            for ( int len = stream.read( buf ); len >= 0; len = stream.read( buf ) )
+                out.write( buf, 0, len );
+        }
+        return true;
+    }
+
+    /**
+     * Extracts the jars in the supplied archive into the library, named by the SHA-1 hash of their content, and scans each jar not
+     * already installed for the supplied category for potential sequencer classes, in parallel. Whether a jar is already installed
+     * is determined by the jars saved in the repository, not by the library, which may still contain jars extracted by a failed
+     * installation.
+     * 
+     * @param archivePath
+     *        the path to a downloaded archive
+     * @param category
+     *        the archive's model type category
+     * @param installedJarCategories
+     *        the categories referencing each jar saved in the repository, by the jar's SHA-1 hash
+     * @param newJarPaths
+     *        the paths of the jars written to the library by this installation, to which the jars written by this method are added
+     * @return the archive's jars; never <code>null</code>.
+     * @throws ModelerException
+     *         if interrupted or if any problem occurs scanning a jar
+     * @throws IOException
+     *         if the archive cannot be read or a jar cannot be written
+     */
+    private List< ExtractedJar > extract( final Path archivePath,
+                                          final String category,
+                                          final Map< String, Set< String > > installedJarCategories,
+                                          final Set< Path > newJarPaths ) throws ModelerException, IOException {
+        try ( final ZipFile archive = new ZipFile( archivePath.toFile() ) ) {
+            final List< Callable< ExtractedJar > > tasks = new ArrayList<>();
+            for ( final Enumeration< ? extends ZipEntry > archiveIter = archive.entries(); archiveIter.hasMoreElements(); ) {
+                final ZipEntry archiveEntry = archiveIter.nextElement();
+                if ( archiveEntry.isDirectory() ) continue;
+                final String name = archiveEntry.getName().toLowerCase();
+                if ( !name.endsWith( ".jar" ) || name.endsWith( "-tests.jar" ) || name.endsWith( "-sources.jar" ) ) {
+                    LOGGER.debug( "Ignoring Jar: %s", name );
+                    continue;
+                }
+                final String fileName = archiveEntry.getName().substring( archiveEntry.getName().lastIndexOf( '/' ) + 1 );
+                tasks.add( new Callable< ExtractedJar >() {
+
+                    @Override
+                    public ExtractedJar call() throws Exception {
+                        final Path tempPath = Files.createTempFile( library, fileName, ".part" );
+                        final MessageDigest digest = MessageDigest.getInstance( "SHA-1" );
+                        try ( InputStream stream = new DigestInputStream( archive.getInputStream( archiveEntry ), digest ) ) {
+                            Files.copy( stream, tempPath, StandardCopyOption.REPLACE_EXISTING );
                         }
-                        jarPath.toFile().deleteOnExit();
-                        libraryClassLoader.addURL( jarPath.toUri().toURL() );
-                        LOGGER.debug( "Installed jar: %s", jarPath );
-                        try ( final ZipFile jar = new ZipFile( jarPath.toFile() ) ) {
-                            for ( final Enumeration< ? extends ZipEntry > jarIter = jar.entries(); jarIter.hasMoreElements(); ) {
-                                final ZipEntry jarEntry = jarIter.nextElement();
-                                if ( jarEntry.isDirectory() ) continue;
-                                name = jarEntry.getName();
-                                if ( jarPath.getFileName().toString().contains( "sequencer" )
-                                     && name.endsWith( "Sequencer.class" ) ) {
-                                    Set< String > names = potentialSequencerClassNamesByCategory.get( category );
-                                    if ( names == null ) {
-                                        names = new HashSet<>();
-                                        potentialSequencerClassNamesByCategory.put( category, names );
-                                    }
-                                    names.add( name.replace( '/', '.' ).substring( 0, name.length() - ".class".length() ) );
-                                    LOGGER.debug( "Potential sequencer: %s", name );
-                                }
-                            }
+                        final String sha1 = SecureHash.asHexString( digest.digest() );
+                        final Path jarPath = library.resolve( sha1 + ".jar" );
+                        final Set< String > jarCategories = installedJarCategories.get( sha1 );
+                        final boolean added = jarCategories == null;
+                        if ( added ) {
+                            // Replace any jar left in the library by a failed installation
+                            Files.move( tempPath, jarPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+                            newJarPaths.add( jarPath );
+                        } else {
+                            Files.delete( tempPath );
+                            LOGGER.debug( "Jar already installed: %s", fileName );
                         }
+                        // Scan jars shared with other categories for this category too, so the categories found to contain a
+                        // sequencer do not depend on the order in which categories are installed
+                        final Set< String > names =
+                            added || !jarCategories.contains( category ) ? scan( jarPath, fileName )
+                                                                         : Collections.< String >emptySet();
+                        return new ExtractedJar( jarPath, sha1, fileName, category, added, names );
                     }
-                    for ( final Iterator< Entry< String, Set< String > > > categoryIter =
-                        potentialSequencerClassNamesByCategory.entrySet().iterator(); categoryIter.hasNext(); ) {
-                        final Entry< String, Set< String > > entry = categoryIter.next();
-                        for ( final Iterator< String > iter = entry.getValue().iterator(); iter.hasNext(); ) {
-                            try {
-                                @SuppressWarnings( "unchecked" ) final Class< Sequencer > sequencerClass =
-                                    ( Class< Sequencer > ) libraryClassLoader.loadClass( iter.next() );
-                                if ( Sequencer.class.isAssignableFrom( sequencerClass )
-                                     && !Modifier.isAbstract( sequencerClass.getModifiers() ) ) {
-                                    String id = ModeShapeModeler.class.getPackage().getName() + '.' + category + '.'
-                                                + sequencerClass.getSimpleName();
-                                    id = id.endsWith( "Sequencer" ) ? id.substring( 0, id.length() - "Sequencer".length() ) : id;
-                                    final ModelTypeImpl type =
-                                        new ModelTypeImpl( manager, category, id, sequencerClass, null, null );
-                                    modelTypes.add( type );
-                                    manager.run( this, new SystemTask< Void >() {
-
-                                        @Override
-                                        public Void run( final Session session,
-                                                         final Node systemNode ) throws Exception {
-                                            final Node node = systemNode.getNode( ModelerLexicon.MODEL_TYPES ).addNode( type.id() );
-                                            node.setProperty( ModelerLexicon.SEQUENCER_CLASS, sequencerClass.getName() );
-                                            node.setProperty( ModelerLexicon.CATEGORY, category );
-                                            session.save();
-                                            return null;
-                                        }
-                                    } );
-                                }
-                                iter.remove();
-                            } catch ( final NoClassDefFoundError | ClassNotFoundException ignored ) {
-                                // Class will be re-tested as a Sequencer when the next archive is installed
-                            }
-                        }
-                        if ( entry.getValue().isEmpty() ) categoryIter.remove();
+                } );
+            }
+            if ( tasks.isEmpty() ) return Collections.emptyList();
+            final ExecutorService pool =
+                Executors.newFixedThreadPool( Math.min( tasks.size(), Runtime.getRuntime().availableProcessors() ) );
+            try {
+                final List< ExtractedJar > jars = new ArrayList<>( tasks.size() );
+                for ( final Future< ExtractedJar > future : pool.invokeAll( tasks ) )
+                    jars.add( future.get() );
+                return jars;
+            } catch ( final InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                throw new ModelerException( e );
+            } catch ( final ExecutionException e ) {
+                if ( e.getCause() instanceof IOException ) throw ( IOException ) e.getCause();
+                throw new ModelerException( e.getCause() );
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Downloads and extracts the archives of the supplied categories in parallel.
+     * 
+     * @param archiveNamesByCategory
+     *        the names of the archives to install by their categories
+     * @param installedJarCategories
+     *        the categories referencing each jar saved in the repository, by the jar's SHA-1 hash
+     * @param newJarPaths
+     *        the paths of the jars written to the library by this installation, to which the jars written by this method are added
+     * @return the jars of each archive; never <code>null</code>.
+     * @throws ModelerException
+     *         if interrupted or if any problem occurs downloading an archive or scanning a jar
+     * @throws IOException
+     *         if an archive cannot be downloaded or read or a jar cannot be written
+     */
+    private List< List< ExtractedJar > > extract( final Map< String, String > archiveNamesByCategory,
+                                                  final Map< String, Set< String > > installedJarCategories,
+                                                  final Set< Path > newJarPaths ) throws ModelerException, IOException {
+        final List< Callable< List< ExtractedJar > > > tasks = new ArrayList<>();
+        for ( final Entry< String, String > entry : archiveNamesByCategory.entrySet() )
+            tasks.add( new Callable< List< ExtractedJar > >() {
+
+                @Override
+                public List< ExtractedJar > call() throws Exception {
+                    final Path archivePath = download( entry.getKey(), entry.getValue() );
+                    if ( archivePath == null )
+                        throw new IllegalArgumentException( ModelerI18n.unableToFindModelTypeCategory.text( entry.getKey() ) );
+                    try {
+                        return extract( archivePath, entry.getKey(), installedJarCategories, newJarPaths );
+                    } catch ( final ZipException e ) {
+                        // Download the archive again next time
+                        Files.deleteIfExists( archivePath );
+                        throw e;
                     }
                 }
-                archivePath.toFile().delete();
-                manager.run( this, new SystemTask< Void >() {
+            } );
+        if ( tasks.size() == 1 ) try {
+            return Collections.singletonList( tasks.get( 0 ).call() );
+        } catch ( final ModelerException | IOException | RuntimeException e ) {
+            throw e;
+        } catch ( final Exception e ) {
+            throw new ModelerException( e );
+        }
+        final ExecutorService pool = Executors.newFixedThreadPool( Math.min( tasks.size(), Runtime.getRuntime().availableProcessors() ) );
+        try {
+            final List< List< ExtractedJar > > jars = new ArrayList<>( tasks.size() );
+            for ( final Future< List< ExtractedJar > > future : pool.invokeAll( tasks ) )
+                jars.add( future.get() );
+            return jars;
+        } catch ( final InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new ModelerException( e );
+        } catch ( final ExecutionException e ) {
+            if ( e.getCause() instanceof RuntimeException ) throw ( RuntimeException ) e.getCause();
+            if ( e.getCause() instanceof ModelerException ) throw ( ModelerException ) e.getCause();
+            if ( e.getCause() instanceof IOException ) throw ( IOException ) e.getCause();
+            throw new ModelerException( e.getCause() );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
-                    @Override
-                    public Void run( final Session session,
-                                     final Node systemNode ) throws Exception {
-                        // Save that archive has been installed
-                        Value[] vals =
-                            systemNode.hasProperty( ModelerLexicon.ZIPS ) ? systemNode.getProperty( ModelerLexicon.ZIPS ).getValues()
-                                                                         : new Value[ 0 ];
-                        final Value[] newVals = new Value[ vals.length + 1 ];
-                        System.arraycopy( vals, 0, newVals, 0, vals.length );
-                        newVals[ vals.length ] = session.getValueFactory().createValue( archiveName );
-                        systemNode.setProperty( ModelerLexicon.ZIPS, newVals );
-                        // Save potential class names
-                        final Node categoryNode = systemNode.getNode( ModelerLexicon.POTENTIAL_SEQUENCER_CLASS_NAMES_BY_CATEGORY );
-                        for ( final Entry< String, Set< String > > entry : potentialSequencerClassNamesByCategory.entrySet() ) {
-                            final Node node =
-                                !categoryNode.hasNode( entry.getKey() ) ? categoryNode.addNode( entry.getKey() ) :
-                                                                       categoryNode.getNode( entry.getKey() );
-                            vals = new Value[ entry.getValue().size() ];
-                            int ndx = 0;
-                            for ( final String className : entry.getValue() )
-                                vals[ ndx++ ] = session.getValueFactory().createValue( className );
-                            node.setProperty( ModelerLexicon.POTENTIAL_SEQUENCER_CLASS_NAMES, vals );
-                        }
-                        session.save();
-                        return null;
+    /**
+     * {@inheritDoc}
+     * 
+     * @see ModelTypeManager#install(String...)
+     */
+    @Override
+    public synchronized String[] install( final String... categories ) throws ModelerException {
+        CheckArg.isNotEmpty( categories, "categories" );
+        for ( final String category : categories )
+            CheckArg.isNotEmpty( category, "category" );
+        LOGGER.debug( "Installing model types from categories %s", Arrays.toString( categories ) );
+        try {
+            final Map< String, String > archiveNamesByCategory = new LinkedHashMap<>();
+            for ( final String category : categories )
+                archiveNamesByCategory.put( category, archiveName( category ) );
+            final Map< String, Set< String > > installedJarCategories = new HashMap<>();
+            // Skip archives that have already been installed, and determine which jars have already been installed
+            manager.run( this, new SystemTask< Void >() {
+
+                @Override
+                public Void run( final Session session,
+                                 final Node systemNode ) throws Exception {
+                    if ( systemNode.hasProperty( ModelerLexicon.ZIPS ) )
+                        for ( final Value val : systemNode.getProperty( ModelerLexicon.ZIPS ).getValues() )
+                            if ( archiveNamesByCategory.values().remove( val.getString() ) )
+                                LOGGER.debug( "Archive already installed: %s", val.getString() );
+                    for ( final NodeIterator iter = systemNode.getNode( ModelerLexicon.JARS ).getNodes(); iter.hasNext(); ) {
+                        final Node node = iter.nextNode();
+                        installedJarCategories.put( node.getName(), categories( node ) );
                     }
-                } );
+                    return null;
+                }
+            } );
+            if ( archiveNamesByCategory.isEmpty() ) return potentialSequencerClassNames();
+            final Set< Path > newJarPaths = Collections.newSetFromMap( new ConcurrentHashMap< Path, Boolean >() );
+            final Map< String, Set< String > > origPotentialSequencerClassNamesByCategory = new HashMap<>();
+            for ( final Entry< String, Set< String > > entry : potentialSequencerClassNamesByCategory.entrySet() )
+                origPotentialSequencerClassNamesByCategory.put( entry.getKey(), new HashSet<>( entry.getValue() ) );
+            // Reference the installed jars from the categories just read from the repository, restoring the original references if
+            // the installation fails
+            final Map< String, Set< String > > origCategoriesByJar = categoriesByJar;
+            categoriesByJar = installedJarCategories;
+            try {
+                final List< ExtractedJar > jars = new ArrayList<>();
+                for ( final List< ExtractedJar > archiveJars : extract( archiveNamesByCategory, installedJarCategories, newJarPaths ) )
+                    jars.addAll( archiveJars );
+                for ( final ExtractedJar jar : jars ) {
+                    Set< String > jarCategories = categoriesByJar.get( jar.sha1 );
+                    if ( jarCategories == null ) {
+                        jarCategories = new LinkedHashSet<>();
+                        categoriesByJar.put( jar.sha1, jarCategories );
+                    }
+                    jarCategories.add( jar.category );
+                    if ( jar.added ) LOGGER.debug( "Installed jar: %s", jar.fileName );
+                    if ( jar.potentialSequencerClassNames.isEmpty() ) continue;
+                    Set< String > names = potentialSequencerClassNamesByCategory.get( jar.category );
+                    if ( names == null ) {
+                        names = new HashSet<>();
+                        potentialSequencerClassNamesByCategory.put( jar.category, names );
+                    }
+                    names.addAll( jar.potentialSequencerClassNames );
+                }
+                layoutClassLoaders();
+                final List< ModelTypeImpl > types = resolveSequencers();
+                // Save the MIME types accepted by the new model types' sequencers, so they are indexed without consulting their
+                // sequencers again, even after a restart
+                for ( final ModelTypeImpl type : types )
+                    type.mimeTypes();
+                saveInstallation( archiveNamesByCategory.values(), jars, types );
+                // Publish the new model types only once they have been saved
+                publish( registry.with( types ) );
                 return potentialSequencerClassNames();
+            } catch ( final ModelerException | IOException | RuntimeException e ) {
+                // Leave no trace of the failed installation, so it can be retried
+                potentialSequencerClassNamesByCategory.clear();
+                potentialSequencerClassNamesByCategory.putAll( origPotentialSequencerClassNamesByCategory );
+                for ( final String category : archiveNamesByCategory.keySet() )
+                    close( classLoadersByCategory.remove( category ) );
+                categoriesByJar = origCategoriesByJar;
+                try {
+                    layoutClassLoaders();
+                } catch ( final IOException | ModelerException layoutError ) {
+                    LOGGER.debug( "Unable to restore class loaders: %s", layoutError.getMessage() );
+                }
+                for ( final Path jarPath : newJarPaths )
+                    if ( !jarPath.toFile().delete() ) LOGGER.debug( "Unable to delete jar: %s", jarPath );
+                throw e;
             }
         } catch ( final IOException e ) {
             throw new ModelerException( e );
         }
-        throw new IllegalArgumentException( ModelerI18n.unableToFindModelTypeCategory.text( category ) );
     }
 
     /**
@@ -419,31 +783,196 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
      */
     @Override
     public String[] installableModelTypeCategories() throws ModelerException {
+        return installableModelTypeCategories( false );
+    }
+
+    /**
+     * Returns the cached installable model type categories of each registered repository, retrieving them from any repository
+     * whose categories are not cached, have expired, or must be refreshed. If the categories cannot be retrieved from a repository,
+     * its previously cached categories are used, even if expired.
+     * 
+     * @param refresh
+     *        <code>true</code> if the categories of every registered repository should be retrieved regardless of their age
+     * @return the installable model type categories from the registered repositories; never <code>null</code>.
+     * @throws ModelerException
+     *         if the categories of a repository cannot be retrieved and none have been cached
+     */
+    private String[] installableModelTypeCategories( final boolean refresh ) throws ModelerException {
+        final long ttl = Long.getLong( INSTALLABLE_MODEL_TYPE_CATEGORIES_TTL_PROPERTY, DEFAULT_INSTALLABLE_MODEL_TYPE_CATEGORIES_TTL );
+        final long now = System.currentTimeMillis();
         final Set< String > categories = new HashSet<>();
-        for ( final URL repositoryUrl : modelTypeRepositories ) {
-            try {
-                if ( repositoryUrl.getProtocol().startsWith( "file" ) ) {
-                    final File folder = new File( new URL( repositoryUrl, MODESHAPE_GROUP ).getPath() );
-                    for ( final File file : folder.listFiles() ) {
-                        final String name = file.getName();
-                        if ( name.contains( "sequencer-" ) )
-                            categories.add( name.substring( name.indexOf( "sequencer-" ) + "sequencer-".length() ) );
-                    }
-                } else {
-                    final Document doc = Jsoup.connect( path( repositoryUrl.toString(), MODESHAPE_GROUP ) ).get();
-                    final Elements elements = doc.getElementsMatchingOwnText( "sequencer-" );
-                    for ( final Element element : elements ) {
-                        final String href = element.attr( "href" );
-                        categories.add( href.substring( href.indexOf( "sequencer-" ) + "sequencer-".length(), href.lastIndexOf( '/' ) ) );
-                    }
+        final Map< String, InstallableCategories > refreshedCategoriesByRepository = new HashMap<>();
+        for ( final URL repositoryUrl : modelTypeRepositories() ) {
+            final String repository = repositoryUrl.toString();
+            InstallableCategories cachedCategories = installableCategoriesByRepository.get( repository );
+            if ( refresh || cachedCategories == null || now - cachedCategories.refreshed > ttl ) {
+                try {
+                    cachedCategories = new InstallableCategories( installableModelTypeCategories( repositoryUrl ), now );
+                    installableCategoriesByRepository.put( repository, cachedCategories );
+                    refreshedCategoriesByRepository.put( repository, cachedCategories );
+                } catch ( final IOException e ) {
+                    if ( cachedCategories == null ) throw new ModelerException( e );
+                    LOGGER.debug( "Using cached model type categories of unavailable repository %s: %s", repository, e.getMessage() );
                 }
-            } catch ( final IOException e ) {
-                throw new ModelerException( e );
             }
+            categories.addAll( cachedCategories.categories );
         }
+        if ( !refreshedCategoriesByRepository.isEmpty() ) saveInstallableModelTypeCategories( refreshedCategoriesByRepository );
         return categories.toArray( new String[ categories.size() ] );
     }
 
+    /**
+     * @param repositoryUrl
+     *        a model type repository URL
+     * @return the installable model type categories retrieved from the supplied repository; never <code>null</code>.
+     * @throws IOException
+     *         if the repository cannot be read
+     */
+    private Set< String > installableModelTypeCategories( final URL repositoryUrl ) throws IOException {
+        final Set< String > categories = new HashSet<>();
+        if ( repositoryUrl.getProtocol().startsWith( "file" ) ) {
+            final File folder = new File( new URL( repositoryUrl, MODESHAPE_GROUP ).getPath() );
+            final File[] files = folder.listFiles();
+            if ( files == null ) throw new FileNotFoundException( folder.toString() );
+            for ( final File file : files ) {
+                final String name = file.getName();
+                if ( name.contains( "sequencer-" ) )
+                    categories.add( name.substring( name.indexOf( "sequencer-" ) + "sequencer-".length() ) );
+            }
+        } else {
+            final Document doc = Jsoup.connect( path( repositoryUrl.toString(), MODESHAPE_GROUP ) ).get();
+            final Elements elements = doc.getElementsMatchingOwnText( "sequencer-" );
+            for ( final Element element : elements ) {
+                final String href = element.attr( "href" );
+                categories.add( href.substring( href.indexOf( "sequencer-" ) + "sequencer-".length(), href.lastIndexOf( '/' ) ) );
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * @param url
+     *        the URL of a class or resource
+     * @return the SHA-1 hash of the library jar containing the class or resource at the supplied URL, or <code>null</code> if it is
+     *         not in a library jar
+     */
+    private String jar( final URL url ) {
+        if ( !"jar".equals( url.getProtocol() ) ) return null;
+        final String path = url.getPath();
+        final int ndx = path.indexOf( "!/" );
+        if ( ndx < 0 ) return null;
+        final String name = path.substring( path.lastIndexOf( '/', ndx ) + 1, ndx );
+        final String jar = name.endsWith( ".jar" ) ? name.substring( 0, name.length() - ".jar".length() ) : name;
+        return categoriesByJar.containsKey( jar ) ? jar : null;
+    }
+
+    /**
+     * Arranges the jars in the library into class loaders according to the categories referencing them. Jars referenced by several
+     * categories are added to the shared class loader, the parent of every category's class loader, so their classes are defined
+     * only once. Jars referenced by a single category are added to that category's class loader, so its classes can be unloaded
+     * with it, unless already in the shared class loader.
+     * <p>
+     * Jars cannot be removed from a class loader, so a category class loader holding a jar that becomes shared is replaced, as are
+     * the shared class loader and all category class loaders once the shared class loader holds a jar no category references. The
+     * model types of replaced class loaders are republished with their new class loaders. Replaced class loaders are not closed, as
+     * model types obtained before may still be using them.
+     * 
+     * @throws IOException
+     *         if a jar's URL cannot be determined
+     * @throws ModelerException
+     *         if the republished model types cannot be indexed
+     */
+    private void layoutClassLoaders() throws IOException, ModelerException {
+        final Map< URL, Set< String > > categoriesByUrl = new HashMap<>();
+        for ( final Entry< String, Set< String > > entry : categoriesByJar.entrySet() )
+            if ( !entry.getValue().isEmpty() )
+                categoriesByUrl.put( library.resolve( entry.getKey() + ".jar" ).toUri().toURL(), entry.getValue() );
+        final Set< URL > sharedUrls = new HashSet<>( Arrays.asList( sharedClassLoader.getURLs() ) );
+        final Set< String > replacedCategories = new HashSet<>();
+        if ( !categoriesByUrl.keySet().containsAll( sharedUrls ) ) {
+            sharedClassLoader = new LibraryClassLoader( ModelTypeManagerImpl.class.getClassLoader() );
+            sharedUrls.clear();
+            replacedCategories.addAll( classLoadersByCategory.keySet() );
+        }
+        for ( final Entry< URL, Set< String > > entry : categoriesByUrl.entrySet() ) {
+            if ( entry.getValue().size() < 2 || sharedUrls.contains( entry.getKey() ) ) continue;
+            for ( final Entry< String, LibraryClassLoader > classLoaderEntry : classLoadersByCategory.entrySet() )
+                if ( Arrays.asList( classLoaderEntry.getValue().getURLs() ).contains( entry.getKey() ) )
+                    replacedCategories.add( classLoaderEntry.getKey() );
+            sharedClassLoader.addURL( entry.getKey() );
+            sharedUrls.add( entry.getKey() );
+        }
+        classLoadersByCategory.keySet().removeAll( replacedCategories );
+        for ( final Entry< URL, Set< String > > entry : categoriesByUrl.entrySet() )
+            if ( !sharedUrls.contains( entry.getKey() ) ) for ( final String category : entry.getValue() )
+                classLoader( category ).addURL( entry.getKey() );
+        if ( replacedCategories.isEmpty() ) return;
+        final List< ModelType > types = new ArrayList<>();
+        for ( final ModelType type : registry.modelTypes() ) {
+            if ( !replacedCategories.contains( type.category() ) ) {
+                types.add( type );
+                continue;
+            }
+            final ModelTypeImpl typeImpl = ( ModelTypeImpl ) type;
+            final ModelTypeImpl newType = new ModelTypeImpl( manager,
+                                                             type.category(),
+                                                             type.id(),
+                                                             classLoader( type.category() ),
+                                                             typeImpl.sequencerClassName(),
+                                                             typeImpl.dependencyProcessorClass,
+                                                             typeImpl.desequencerClass,
+                                                             typeImpl.mimeTypes() );
+            newType.setName( type.name() );
+            types.add( newType );
+        }
+        publish( new ModelTypeRegistry( types ) );
+    }
+
+    /**
+     * Migrates the jars saved by modelers that named each jar node by the jar's file name and referenced it from a single category.
+     * Each such node is renamed to the SHA-1 hash of its content, or merged into the node already named by that hash, and its
+     * category becomes one of the node's categories. Changes are not saved.
+     * 
+     * @param session
+     *        the system session
+     * @param jarsNode
+     *        the node containing the saved jars
+     * @return <code>true</code> if any jar was migrated
+     * @throws RepositoryException
+     *         if any problem occurs
+     */
+    private boolean migrateJars( final Session session,
+                                 final Node jarsNode ) throws RepositoryException {
+        final List< Node > oldNodes = new ArrayList<>();
+        for ( final NodeIterator iter = jarsNode.getNodes(); iter.hasNext(); ) {
+            final Node node = iter.nextNode();
+            if ( node.hasProperty( ModelerLexicon.CATEGORY ) ) oldNodes.add( node );
+        }
+        for ( final Node node : oldNodes ) {
+            final String fileName = node.getName();
+            final String category = node.getProperty( ModelerLexicon.CATEGORY ).getString();
+            final String sha1 =
+                ( ( Binary ) node.getNode( JcrLexicon.CONTENT.getString() ).getProperty( JcrLexicon.DATA.getString() ).getBinary() )
+                    .getHexHash();
+            final Node jarNode;
+            if ( jarsNode.hasNode( sha1 ) ) {
+                // Identical jar saved under another file name
+                jarNode = jarsNode.getNode( sha1 );
+                node.remove();
+            } else {
+                session.move( node.getPath(), jarsNode.getPath() + '/' + sha1 );
+                jarNode = node;
+                jarNode.getProperty( ModelerLexicon.CATEGORY ).remove();
+                jarNode.setProperty( ModelerLexicon.FILE_NAME, fileName );
+            }
+            final Set< String > categories = categories( jarNode );
+            if ( categories.add( category ) )
+                jarNode.setProperty( ModelerLexicon.CATEGORIES, categories.toArray( new String[ categories.size() ] ) );
+            LOGGER.debug( "Migrated jar: %s", fileName );
+        }
+        return !oldNodes.isEmpty();
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -452,9 +981,7 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
     @Override
     public ModelType modelType( final String id ) {
         CheckArg.isNotEmpty( id, "id" );
-        for ( final ModelType type : modelTypes )
-            if ( id.equals( type.id() ) ) return type;
-        return null;
+        return registry.modelType( id );
     }
 
     /**
@@ -464,10 +991,7 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
      */
     @Override
     public String[] modelTypeCategories() {
-        final Set< String > categories = new HashSet<>();
-        for ( final ModelType type : modelTypes )
-            categories.add( type.category() );
-        return categories.toArray( new String[ categories.size() ] );
+        return registry.categories();
     }
 
     /**
@@ -487,7 +1011,7 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
      */
     @Override
     public ModelType[] modelTypes() {
-        return modelTypes.toArray( new ModelType[ modelTypes.size() ] );
+        return registry.modelTypes();
     }
 
     /**
@@ -498,13 +1022,8 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
      *         if any problem occurs
      */
     public ModelType[] modelTypes( final Node fileNode ) throws Exception {
-        final Set< ModelType > applicableModelTypes = new HashSet<>();
-        for ( final ModelType type : modelTypes() )
-            if ( ( ( ModelTypeImpl ) type ).sequencer()
-                                           .isAccepted( fileNode.getNode( JcrLexicon.CONTENT.getString() )
-                                                                .getProperty( JcrLexicon.MIMETYPE.getString() ).getString() ) )
-                applicableModelTypes.add( type );
-        return applicableModelTypes.toArray( new ModelType[ applicableModelTypes.size() ] );
+        return index.modelTypes( fileNode.getNode( JcrLexicon.CONTENT.getString() )
+                                         .getProperty( JcrLexicon.MIMETYPE.getString() ).getString() );
     }
 
     /**
@@ -532,10 +1051,7 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
     @Override
     public ModelType[] modelTypesForCategory( final String category ) {
         CheckArg.isNotEmpty( category, "category" );
-        final Set< ModelType > types = new HashSet<>();
-        for ( final ModelType type : modelTypes )
-            if ( category.equals( type.category() ) ) types.add( type );
-        return types.toArray( new ModelType[ types.size() ] );
+        return registry.modelTypes( category );
     }
 
     /**
@@ -570,6 +1086,22 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
         return modelTypeRepositories();
     }
 
+    /**
+     * @param connection
+     *        a connection whose input stream could not be opened
+     * @param error
+     *        the error opening the connection's input stream
+     * @return <code>true</code> if the error only indicates the connection's URL does not exist
+     * @throws IOException
+     *         if the connection's response code cannot be read
+     */
+    private static boolean notFound( final URLConnection connection,
+                                     final IOException error ) throws IOException {
+        if ( connection instanceof HttpURLConnection )
+            return ( ( HttpURLConnection ) connection ).getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND;
+        return error instanceof FileNotFoundException;
+    }
+
     private String path( final String prefix,
                          final String suffix ) {
         if ( prefix.charAt( prefix.length() - 1 ) == '/' )
@@ -584,6 +1116,54 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
         return classNames.toArray( new String[ classNames.size() ] );
     }
 
+    /**
+     * Publishes the supplied registry along with its index. The index uses only the MIME types already known to each model type, so
+     * publishing initializes no sequencers.
+     * 
+     * @param registry
+     *        the registry of the installed model types
+     * @throws ModelerException
+     *         if the registry cannot be indexed
+     */
+    private void publish( final ModelTypeRegistry registry ) throws ModelerException {
+        final ModelTypeIndex index = new ModelTypeIndex( registry );
+        this.registry = registry;
+        this.index = index;
+    }
+
+    /**
+     * @param url
+     *        the URL of an archive
+     * @return the SHA-1 checksum published with the archive at the supplied URL, or <code>null</code> if none is published
+     * @throws IOException
+     *         if the checksum exists but cannot be read
+     */
+    private String publishedSha1( final URL url ) throws IOException {
+        final URLConnection connection = new URL( url + ".sha1" ).openConnection();
+        final InputStream stream;
+        try {
+            stream = connection.getInputStream();
+        } catch ( final IOException e ) {
+            if ( notFound( connection, e ) ) return null;
+            throw e;
+        }
+        try ( BufferedReader reader = new BufferedReader( new InputStreamReader( stream, StandardCharsets.US_ASCII ) ) ) {
+            final String line = reader.readLine();
+            // Some repositories follow the checksum with the archive name
+            return line == null || line.trim().isEmpty() ? null : line.trim().split( "\\s+" )[ 0 ].toLowerCase();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see ModelTypeManager#refreshInstallableModelTypeCategories()
+     */
+    @Override
+    public String[] refreshInstallableModelTypeCategories() throws ModelerException {
+        return installableModelTypeCategories( true );
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -599,7 +1179,146 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
         return modelTypeRepositories();
     }
 
+    /**
+     * Creates a model type for each potential sequencer class that is now known to be a concrete sequencer, and removes from the
+     * potential sequencer class names those now known not to be. Classes are inspected using only their class file headers, so no
+     * classes are loaded. The new model types are not published to the registry.
+     * 
+     * @return the new model types; never <code>null</code>.
+     * @throws IOException
+     *         if a class file cannot be read
+     * @throws ModelerException
+     *         if the jar containing a class cannot be added to a category's jars
+     */
+    private List< ModelTypeImpl > resolveSequencers() throws IOException, ModelerException {
+        final Map< String, List< String > > sequencerClassNamesByCategory = new LinkedHashMap<>();
+        for ( final Iterator< Entry< String, Set< String > > > categoryIter =
+            potentialSequencerClassNamesByCategory.entrySet().iterator(); categoryIter.hasNext(); ) {
+            final Entry< String, Set< String > > entry = categoryIter.next();
+            final String category = entry.getKey();
+            final List< String > sequencerClassNames = new ArrayList<>();
+            for ( final Iterator< String > iter = entry.getValue().iterator(); iter.hasNext(); ) {
+                final String className = iter.next();
+                final Boolean sequencer = sequencer( category, className );
+                // Class will be re-tested as a Sequencer when the next archive is installed
+                if ( sequencer == null ) continue;
+                if ( sequencer ) sequencerClassNames.add( className );
+                iter.remove();
+            }
+            sequencerClassNamesByCategory.put( category, sequencerClassNames );
+            if ( entry.getValue().isEmpty() ) categoryIter.remove();
+        }
+        // Create the model types only once reading class headers can no longer replace their categories' class loaders
+        final List< ModelTypeImpl > types = new ArrayList<>();
+        for ( final Entry< String, List< String > > entry : sequencerClassNamesByCategory.entrySet() ) {
+            final String category = entry.getKey();
+            for ( final String className : entry.getValue() ) {
+                String id = ModeShapeModeler.class.getPackage().getName() + '.' + category + '.'
+                            + className.substring( className.lastIndexOf( '.' ) + 1 );
+                id = id.endsWith( "Sequencer" ) ? id.substring( 0, id.length() - "Sequencer".length() ) : id;
+                types.add( new ModelTypeImpl( manager, category, id, classLoader( category ), className, null, null, null ) );
+            }
+        }
+        return types;
+    }
+
+    private void saveInstallableModelTypeCategories( final Map< String, InstallableCategories > categoriesByRepository )
+        throws ModelerException {
+        manager.run( this, new SystemTask< Void >() {
+
+            @Override
+            public Void run( final Session session,
+                             final Node systemNode ) throws Exception {
+                final Node categoriesNode = systemNode.getNode( ModelerLexicon.INSTALLABLE_MODEL_TYPE_CATEGORIES );
+                for ( final Entry< String, InstallableCategories > entry : categoriesByRepository.entrySet() ) {
+                    // Repository URLs are not valid node names
+                    final byte[] url = entry.getKey().getBytes( StandardCharsets.UTF_8 );
+                    final String name = SecureHash.asHexString( SecureHash.getHash( Algorithm.SHA_1, url ) );
+                    final Node node = categoriesNode.hasNode( name ) ? categoriesNode.getNode( name ) : categoriesNode.addNode( name );
+                    final Set< String > categories = entry.getValue().categories;
+                    node.setProperty( ModelerLexicon.REPOSITORY_URL, entry.getKey() );
+                    node.setProperty( ModelerLexicon.CATEGORIES, categories.toArray( new String[ categories.size() ] ) );
+                    node.setProperty( ModelerLexicon.REFRESHED, entry.getValue().refreshed );
+                }
+                session.save();
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * Saves the supplied jars, or only a reference to the supplied jars' category if already saved, the supplied model types, that
+     * the supplied archives have been installed, and the remaining potential sequencer class names, all in one save.
+     */
+    private void saveInstallation( final Collection< String > archiveNames,
+                                   final List< ExtractedJar > jars,
+                                   final List< ModelTypeImpl > types ) throws ModelerException {
+        manager.run( this, new SystemTask< Void >() {
+
+            @Override
+            public Void run( final Session session,
+                             final Node systemNode ) throws Exception {
+                final JcrTools tools = new JcrTools();
+                final Node jarsNode = systemNode.getNode( ModelerLexicon.JARS );
+                for ( final ExtractedJar jar : jars ) {
+                    if ( jarsNode.hasNode( jar.sha1 ) ) continue;
+                    try ( InputStream stream = Files.newInputStream( jar.path ) ) {
+                        final Node node = tools.uploadFile( session, jarsNode.getPath() + '/' + jar.sha1, stream );
+                        node.addMixin( ModelerLexicon.UNSTRUCTURED_MIXIN );
+                        node.setProperty( ModelerLexicon.FILE_NAME, jar.fileName );
+                    }
+                }
+                // Save the categories referencing each jar, including those whose sequencers need classes in another category's jars
+                for ( final NodeIterator iter = jarsNode.getNodes(); iter.hasNext(); ) {
+                    final Node node = iter.nextNode();
+                    final Set< String > categories = categoriesByJar.get( node.getName() );
+                    if ( categories != null && !categories.equals( categories( node ) ) )
+                        node.setProperty( ModelerLexicon.CATEGORIES, categories.toArray( new String[ categories.size() ] ) );
+                }
+                final Node typesNode = systemNode.getNode( ModelerLexicon.MODEL_TYPES );
+                for ( final ModelTypeImpl type : types ) {
+                    final Node node = typesNode.addNode( type.id() );
+                    node.setProperty( ModelerLexicon.SEQUENCER_CLASS, type.sequencerClassName() );
+                    node.setProperty( ModelerLexicon.CATEGORY, type.category() );
+                    node.setProperty( ModelerLexicon.MIME_TYPES, type.mimeTypes() );
+                }
+                // Save that archives have been installed
+                Value[] vals =
+                    systemNode.hasProperty( ModelerLexicon.ZIPS ) ? systemNode.getProperty( ModelerLexicon.ZIPS ).getValues()
+                                                                 : new Value[ 0 ];
+                final Value[] newVals = new Value[ vals.length + archiveNames.size() ];
+                System.arraycopy( vals, 0, newVals, 0, vals.length );
+                int archiveNdx = vals.length;
+                for ( final String archiveName : archiveNames )
+                    newVals[ archiveNdx++ ] = session.getValueFactory().createValue( archiveName );
+                systemNode.setProperty( ModelerLexicon.ZIPS, newVals );
+                // Save potential class names, removing those of categories whose classes have all been resolved
+                final Node categoryNode = systemNode.getNode( ModelerLexicon.POTENTIAL_SEQUENCER_CLASS_NAMES_BY_CATEGORY );
+                for ( final NodeIterator iter = categoryNode.getNodes(); iter.hasNext(); ) {
+                    final Node node = iter.nextNode();
+                    if ( !potentialSequencerClassNamesByCategory.containsKey( node.getName() ) ) node.remove();
+                }
+                for ( final Entry< String, Set< String > > entry : potentialSequencerClassNamesByCategory.entrySet() ) {
+                    final Node node =
+                        !categoryNode.hasNode( entry.getKey() ) ? categoryNode.addNode( entry.getKey() ) :
+                                                               categoryNode.getNode( entry.getKey() );
+                    vals = new Value[ entry.getValue().size() ];
+                    int ndx = 0;
+                    for ( final String className : entry.getValue() )
+                        vals[ ndx++ ] = session.getValueFactory().createValue( className );
+                    node.setProperty( ModelerLexicon.POTENTIAL_SEQUENCER_CLASS_NAMES, vals );
+                }
+                session.save();
+                return null;
+            }
+        } );
+    }
+
     private void saveModelTypeRepositories() throws ModelerException {
+        final Set< String > repositories = new HashSet<>();
+        for ( final URL url : modelTypeRepositories )
+            repositories.add( url.toString() );
+        installableCategoriesByRepository.keySet().retainAll( repositories );
         manager.run( this, new SystemTask< Void >() {
 
             @Override
@@ -610,23 +1329,84 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
                 for ( final URL url : modelTypeRepositories )
                     vals[ ndx++ ] = session.getValueFactory().createValue( url.toString() );
                 systemNode.setProperty( ModelerLexicon.MODEL_TYPE_REPOSITORIES, vals );
+                // Remove the cached installable model type categories of unregistered repositories
+                for ( final NodeIterator iter =
+                    systemNode.getNode( ModelerLexicon.INSTALLABLE_MODEL_TYPE_CATEGORIES ).getNodes(); iter.hasNext(); ) {
+                    final Node node = iter.nextNode();
+                    if ( !repositories.contains( node.getProperty( ModelerLexicon.REPOSITORY_URL ).getString() ) ) node.remove();
+                }
                 session.save();
                 return null;
             }
         } );
     }
 
+    /**
+     * @param jarPath
+     *        the path to a jar in the library
+     * @param fileName
+     *        the jar's original file name
+     * @return the names of the classes in the supplied jar that may be sequencers; never <code>null</code>.
+     * @throws IOException
+     *         if the jar cannot be read
+     */
+    private Set< String > scan( final Path jarPath,
+                                final String fileName ) throws IOException {
+        final Set< String > names = new HashSet<>();
+        if ( !fileName.contains( "sequencer" ) ) return names;
+        try ( final ZipFile jar = new ZipFile( jarPath.toFile() ) ) {
+            for ( final Enumeration< ? extends ZipEntry > jarIter = jar.entries(); jarIter.hasMoreElements(); ) {
+                final ZipEntry jarEntry = jarIter.nextElement();
+                if ( jarEntry.isDirectory() ) continue;
+                final String name = jarEntry.getName();
+                if ( name.endsWith( "Sequencer.class" ) ) {
+                    names.add( name.replace( '/', '.' ).substring( 0, name.length() - ".class".length() ) );
+                    LOGGER.debug( "Potential sequencer: %s", name );
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @param category
+     *        the category containing the class
+     * @param className
+     *        the name of a class in the library
+     * @return <code>true</code> if the class is a concrete sequencer, <code>false</code> if not, or <code>null</code> if its class
+     *         file, or that of one of its superclasses, is not yet in the library
+     * @throws IOException
+     *         if a class file cannot be read
+     * @throws ModelerException
+     *         if the jar containing a class cannot be added to the category's jars
+     */
+    private Boolean sequencer( final String category,
+                               final String className ) throws IOException, ModelerException {
+        ClassHeader header = classHeader( category, className );
+        if ( header == null ) return null;
+        if ( !header.instantiable() ) return false;
+        while ( header.superName != null ) {
+            if ( SEQUENCER_CLASS_NAME.equals( header.superName ) ) return true;
+            if ( header.superName.startsWith( "java." ) ) return false;
+            header = classHeader( category, header.superName );
+            if ( header == null ) return null;
+        }
+        return false;
+    }
+
+    static String sha1( final Path file ) throws NoSuchAlgorithmException, IOException {
+        return SecureHash.asHexString( SecureHash.getHash( Algorithm.SHA_1, file.toFile() ) );
+    }
+
     /**
      * {@inheritDoc}
      * 
      * @see ModelTypeManager#uninstall(String)
      */
     @Override
-    public void uninstall( final String category ) throws ModelerException {
+    public synchronized void uninstall( final String category ) throws ModelerException {
         CheckArg.isNotEmpty( category, "category" );
-        for ( final Iterator< ModelType > iter = modelTypes.iterator(); iter.hasNext(); )
-            if ( category.equals( iter.next().category() ) ) iter.remove();
-        potentialSequencerClassNamesByCategory.remove( category );
+        final List< Path > removedJarPaths = new ArrayList<>();
         manager.run( this, new SystemTask< Void >() {
 
             @Override
@@ -646,11 +1426,15 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
                 prop.setValue( newVals );
                 for ( final NodeIterator iter = systemNode.getNode( ModelerLexicon.JARS ).getNodes(); iter.hasNext(); ) {
                     final Node node = iter.nextNode();
-                    if ( !node.getProperty( ModelerLexicon.CATEGORY ).equals( category ) ) continue;
-                    final Path jarPath = library.resolve( node.getName() );
-                    if ( jarPath.toFile().delete() ) LOGGER.debug( "Unable to delete jar: %s", jarPath );
+                    final Set< String > categories = categories( node );
+                    if ( !categories.remove( category ) ) continue;
+                    // Keep jars still needed by other categories
+                    if ( !categories.isEmpty() ) {
+                        node.setProperty( ModelerLexicon.CATEGORIES, categories.toArray( new String[ categories.size() ] ) );
+                        continue;
+                    }
+                    removedJarPaths.add( library.resolve( node.getName() + ".jar" ) );
                     node.remove();
-                    LOGGER.debug( "Uninstalled jar: %s", jarPath );
                 }
                 final Node node = systemNode.getNode( ModelerLexicon.POTENTIAL_SEQUENCER_CLASS_NAMES_BY_CATEGORY );
                 if ( node.hasNode( category ) ) node.getNode( category ).remove();
@@ -658,6 +1442,24 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
                 return null;
             }
         } );
+        // Unpublish the category's model types only once their removal has been saved
+        publish( registry.without( category ) );
+        potentialSequencerClassNamesByCategory.remove( category );
+        // Close the category's class loader so its classes and open jars can be reclaimed
+        close( classLoadersByCategory.remove( category ) );
+        for ( final Iterator< Set< String > > iter = categoriesByJar.values().iterator(); iter.hasNext(); ) {
+            final Set< String > categories = iter.next();
+            if ( categories.remove( category ) && categories.isEmpty() ) iter.remove();
+        }
+        try {
+            layoutClassLoaders();
+        } catch ( final IOException e ) {
+            throw new ModelerException( e );
+        }
+        for ( final Path jarPath : removedJarPaths ) {
+            if ( !jarPath.toFile().delete() ) LOGGER.debug( "Unable to delete jar: %s", jarPath );
+            else LOGGER.debug( "Uninstalled jar: %s", jarPath );
+        }
     }
 
     /**
@@ -676,15 +1478,64 @@ public final class ModelTypeManagerImpl implements ModelTypeManager {
         return manager.repository().getDescriptor( Repository.REP_VERSION_DESC );
     }
 
-    class LibraryClassLoader extends URLClassLoader {
+    private static final class ExtractedJar {
+
+        final Path path;
+        final String sha1;
+        final String fileName;
+        final String category;
+        final boolean added;
+        final Set< String > potentialSequencerClassNames;
+
+        ExtractedJar( final Path path,
+                      final String sha1,
+                      final String fileName,
+                      final String category,
+                      final boolean added,
+                      final Set< String > potentialSequencerClassNames ) {
+            this.path = path;
+            this.sha1 = sha1;
+            this.fileName = fileName;
+            this.category = category;
+            this.added = added;
+            this.potentialSequencerClassNames = potentialSequencerClassNames;
+        }
+    }
+
+    private static final class InstallableCategories {
+
+        final Set< String > categories;
+        final long refreshed;
+
+        InstallableCategories( final Set< String > categories,
+                               final long refreshed ) {
+            this.categories = categories;
+            this.refreshed = refreshed;
+        }
+    }
+
+    /**
+     * A class loader for jars in the library, either those referenced by several categories, shared as the parent of every category's
+     * class loader, or those referenced only by one category.
+     */
+    static final class LibraryClassLoader extends URLClassLoader {
+
+        static {
+            ClassLoader.registerAsParallelCapable();
+        }
 
-        LibraryClassLoader() {
-            super( new URL[ 0 ], LibraryClassLoader.class.getClassLoader() );
+        LibraryClassLoader( final ClassLoader parent ) {
+            super( new URL[ 0 ], parent );
         }
 
+        /**
+         * {@inheritDoc}
+         * 
+         * @see java.net.URLClassLoader#addURL(java.net.URL)
+         */
         @Override
         protected void addURL( final URL url ) {
-            super.addURL( url );
+            if ( !Arrays.asList( getURLs() ).contains( url ) ) super.addURL( url );
         }
     }
 }
@@ -0,0 +1,128 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.modeshape.modeler.ModelType;
+
+/**
+ * An immutable snapshot of the installed model types, indexed by id and by category. Changes produce a new snapshot, so readers
+ * never block and never see a partially applied install or uninstall.
+ */
+final class ModelTypeRegistry {
+
+    static final ModelTypeRegistry EMPTY = new ModelTypeRegistry( Collections.< ModelType >emptyList() );
+
+    private static final ModelType[] NO_TYPES = new ModelType[ 0 ];
+
+    private final Map< String, ModelType > modelTypesById = new LinkedHashMap<>();
+    private final Map< String, ModelType[] > modelTypesByCategory = new HashMap<>();
+    private final ModelType[] modelTypes;
+    private final String[] categories;
+
+    ModelTypeRegistry( final Collection< ? extends ModelType > modelTypes ) {
+        final Map< String, List< ModelType > > modelTypesByCategory = new LinkedHashMap<>();
+        for ( final ModelType type : modelTypes ) {
+            modelTypesById.put( type.id(), type );
+        }
+        for ( final ModelType type : modelTypesById.values() ) {
+            List< ModelType > types = modelTypesByCategory.get( type.category() );
+            if ( types == null ) {
+                types = new ArrayList<>();
+                modelTypesByCategory.put( type.category(), types );
+            }
+            types.add( type );
+        }
+        for ( final Entry< String, List< ModelType > > entry : modelTypesByCategory.entrySet() )
+            this.modelTypesByCategory.put( entry.getKey(), entry.getValue().toArray( NO_TYPES ) );
+        this.modelTypes = modelTypesById.values().toArray( NO_TYPES );
+        categories = modelTypesByCategory.keySet().toArray( new String[ modelTypesByCategory.size() ] );
+    }
+
+    /**
+     * @return the categories of the model types in this registry; never <code>null</code>.
+     */
+    String[] categories() {
+        return categories.clone();
+    }
+
+    /**
+     * @param id
+     *        a model type ID
+     * @return the model type with the supplied ID, or <code>null</code> if not found
+     */
+    ModelType modelType( final String id ) {
+        return modelTypesById.get( id );
+    }
+
+    /**
+     * @return the model types in this registry; never <code>null</code>.
+     */
+    ModelType[] modelTypes() {
+        return modelTypes.clone();
+    }
+
+    /**
+     * @param category
+     *        a model type category
+     * @return the model types in the supplied category; never <code>null</code>.
+     */
+    ModelType[] modelTypes( final String category ) {
+        final ModelType[] types = modelTypesByCategory.get( category );
+        return types == null ? NO_TYPES : types.clone();
+    }
+
+    /**
+     * @param modelTypes
+     *        the model types to add
+     * @return a registry containing this registry's model types plus the supplied model types; never <code>null</code>.
+     */
+    ModelTypeRegistry with( final Collection< ? extends ModelType > modelTypes ) {
+        if ( modelTypes.isEmpty() ) return this;
+        final List< ModelType > types = new ArrayList<>( modelTypesById.values() );
+        types.addAll( modelTypes );
+        return new ModelTypeRegistry( types );
+    }
+
+    /**
+     * @param category
+     *        a model type category
+     * @return a registry containing this registry's model types except those in the supplied category; never <code>null</code>.
+     */
+    ModelTypeRegistry without( final String category ) {
+        if ( !modelTypesByCategory.containsKey( category ) ) return this;
+        final List< ModelType > types = new ArrayList<>();
+        for ( final ModelType type : modelTypes )
+            if ( !category.equals( type.category() ) ) types.add( type );
+        return new ModelTypeRegistry( types );
+    }
+}
@@ -33,6 +33,11 @@ public interface ModelerLexicon {
      */
     String NAMESPACE_PREFIX = "mm:";
 
+    /**
+     * the system workspace jar property containing the categories whose archives contain the jar
+     */
+    String CATEGORIES = "categories";
+
     /**
      * the system workspace model type category property
      */
@@ -54,7 +59,17 @@ public interface ModelerLexicon {
     String EXTERNAL_LOCATION = NAMESPACE_PREFIX + "externalLocation";
 
     /**
-     * the system workspace node containing the installed jar files
+     * the system workspace jar property containing the jar's original file name
+     */
+    String FILE_NAME = "fileName";
+
+    /**
+     * the system workspace node containing the cached installable model type categories of each model type repository
+     */
+    String INSTALLABLE_MODEL_TYPE_CATEGORIES = "installableModelTypeCategories";
+
+    /**
+     * the system workspace node containing the installed jar files, named by the SHA-1 hash of their content
      */
     String JARS = "jars";
 
@@ -63,6 +78,11 @@ public interface ModelerLexicon {
      */
     String MODEL_MIXIN = NAMESPACE_PREFIX + "model";
 
+    /**
+     * the system workspace model type property containing the MIME types accepted by its sequencer
+     */
+    String MIME_TYPES = "mimeTypes";
+
     /**
      * the model type of a model node
      */
@@ -93,6 +113,16 @@ public interface ModelerLexicon {
      */
     String POTENTIAL_SEQUENCER_CLASS_NAMES = "potentialSequencerClassNames";
 
+    /**
+     * the system workspace property containing when cached installable model type categories were retrieved
+     */
+    String REFRESHED = "refreshed";
+
+    /**
+     * the system workspace property containing the URL of the model type repository whose installable categories are cached
+     */
+    String REPOSITORY_URL = "repositoryUrl";
+
     /**
      * the system workspace model type sequencer class property
      */
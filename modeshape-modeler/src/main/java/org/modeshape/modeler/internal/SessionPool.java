@@ -0,0 +1,167 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.modeshape.jcr.JcrRepository;
+import org.modeshape.modeler.ModelerException;
+import org.modeshape.modeler.ModelerI18n;
+
+/**
+ * A bounded pool of sessions for a single workspace. A thread is handed back the session it most recently returned when that
+ * session is still idle, and every borrowed session is refreshed so it reflects the latest persisted state. Nested borrows by a
+ * thread that already holds a session from this pool do not count against the pool's size, so re-entrant tasks cannot deadlock.
+ * A thread's affinity to its session is only weakly held and is cleared once the pool is closed, so long-lived threads do not
+ * keep logged out sessions reachable.
+ */
+final class SessionPool {
+
+    private final JcrRepository repository;
+    private final String workspace;
+    private final int size;
+    private final long waitTimeout;
+    private final Semaphore permits;
+    private final Deque< Session > idleSessions = new ConcurrentLinkedDeque<>();
+    private final ThreadLocal< Reference< Session > > affineSession = new ThreadLocal<>();
+    private final ThreadLocal< Integer > borrowDepth = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    /**
+     * @param repository
+     *        the repository from which sessions will be obtained
+     * @param workspace
+     *        the name of the workspace to which sessions will be logged in
+     * @param size
+     *        the maximum number of sessions concurrently borrowed from, or idle within, this pool
+     * @param waitTimeout
+     *        the number of milliseconds to wait for a session to become available before failing
+     */
+    SessionPool( final JcrRepository repository,
+                 final String workspace,
+                 final int size,
+                 final long waitTimeout ) {
+        this.repository = repository;
+        this.workspace = workspace;
+        this.size = size;
+        this.waitTimeout = waitTimeout;
+        permits = new Semaphore( size, true );
+    }
+
+    /**
+     * @return a live session, refreshed to the latest persisted state; never <code>null</code>. Must be {@link #release(Session)
+     *         released} by the same thread.
+     * @throws ModelerException
+     *         if no session becomes available within the wait timeout, or if any other problem occurs
+     */
+    Session borrow() throws ModelerException {
+        if ( closed ) throw new ModelerException( ModelerI18n.sessionPoolClosed, workspace );
+        final int depth = depth();
+        if ( depth == 0 ) {
+            try {
+                if ( !permits.tryAcquire( waitTimeout, TimeUnit.MILLISECONDS ) )
+                    throw new ModelerException( ModelerI18n.sessionPoolExhausted, workspace, waitTimeout );
+            } catch ( final InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                throw new ModelerException( e );
+            }
+        }
+        borrowDepth.set( depth + 1 );
+        try {
+            final Reference< Session > affinity = affineSession.get();
+            Session session = affinity == null ? null : affinity.get();
+            if ( session == null || !idleSessions.remove( session ) ) session = idleSessions.pollFirst();
+            while ( session != null ) {
+                if ( session.isLive() ) {
+                    session.refresh( false );
+                    return session;
+                }
+                session = idleSessions.pollFirst();
+            }
+            return repository.login( workspace );
+        } catch ( final RepositoryException | RuntimeException e ) {
+            releasePermit();
+            if ( e instanceof RuntimeException ) throw ( RuntimeException ) e;
+            throw new ModelerException( e );
+        }
+    }
+
+    /**
+     * Logs out all idle sessions. Sessions still borrowed are logged out when they are released.
+     */
+    void close() {
+        closed = true;
+        affineSession.remove();
+        for ( Session session = idleSessions.pollFirst(); session != null; session = idleSessions.pollFirst() )
+            session.logout();
+    }
+
+    private int depth() {
+        final Integer depth = borrowDepth.get();
+        return depth == null ? 0 : depth;
+    }
+
+    /**
+     * Returns the supplied session to this pool, discarding any unsaved changes.
+     * 
+     * @param session
+     *        a session previously {@link #borrow() borrowed} from this pool by the current thread
+     */
+    void release( final Session session ) {
+        try {
+            if ( !closed && session.isLive() ) {
+                if ( session.hasPendingChanges() ) session.refresh( false );
+                if ( idleSessions.size() < size ) {
+                    idleSessions.offerFirst( session );
+                    affineSession.set( new WeakReference<>( session ) );
+                    return;
+                }
+            }
+            affineSession.remove();
+            session.logout();
+        } catch ( final RepositoryException e ) {
+            affineSession.remove();
+            session.logout();
+        } finally {
+            releasePermit();
+        }
+    }
+
+    private void releasePermit() {
+        final int depth = depth() - 1;
+        if ( depth > 0 ) borrowDepth.set( depth );
+        else {
+            borrowDepth.remove();
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.jcr.Property;
+import javax.jcr.PropertyType;
+import javax.jcr.RepositoryException;
+import javax.jcr.UnsupportedRepositoryOperationException;
+import javax.jcr.Value;
+
+import org.modeshape.common.util.StringUtil;
+import org.modeshape.jcr.JcrLexicon;
+import org.modeshape.jcr.api.Binary;
+
+/**
+ * An artifact's content spooled outside of the repository, so that it can be sequenced without first being stored in the repository's
+ * binary store. Content smaller than {@link #MEMORY_THRESHOLD} is held in memory; larger content is spooled to a temporary file,
+ * which is deleted when this binary is {@link #dispose() disposed}.
+ */
+public final class SpooledBinary implements Binary, AutoCloseable {
+
+    /**
+     * The number of bytes of content held in memory before spooling to a temporary file. Value is {@value} .
+     */
+    public static final int MEMORY_THRESHOLD = 1024 * 1024;
+
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+    private final byte[] hash;
+
+    /**
+     * Reads the supplied stream to its end, but does not close it.
+     * 
+     * @param stream
+     *        the artifact's content; must not be <code>null</code>.
+     * @throws IOException
+     *         if the stream cannot be read or the temporary file cannot be written
+     */
+    public SpooledBinary( final InputStream stream ) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance( "SHA-1" );
+        } catch ( final NoSuchAlgorithmException e ) {
+            throw new IOException( e );
+        }
+        final DigestInputStream digestStream = new DigestInputStream( stream, digest );
+        final ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        final byte[] buf = new byte[ 8192 ];
+        long size = 0;
+        Path file = null;
+        OutputStream out = memory;
+        try {
+            for ( int count = digestStream.read( buf ); count >= 0; count = digestStream.read( buf ) ) {
+                if ( file == null && size + count > MEMORY_THRESHOLD ) {
+                    file = Files.createTempFile( "modeler", ".spool" );
+                    out = Files.newOutputStream( file );
+                    memory.writeTo( out );
+                }
+                out.write( buf, 0, count );
+                size += count;
+            }
+        } catch ( final IOException e ) {
+            if ( file != null ) {
+                out.close();
+                Files.deleteIfExists( file );
+            }
+            throw e;
+        } finally {
+            out.close();
+        }
+        this.bytes = file == null ? memory.toByteArray() : null;
+        this.file = file;
+        this.size = size;
+        hash = digest.digest();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see AutoCloseable#close()
+     */
+    @Override
+    public void close() {
+        dispose();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see javax.jcr.Binary#dispose()
+     */
+    @Override
+    public void dispose() {
+        if ( file != null ) try {
+            Files.deleteIfExists( file );
+        } catch ( final IOException ignored ) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.jcr.api.Binary#getHash()
+     */
+    @Override
+    public byte[] getHash() {
+        return hash.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.jcr.api.Binary#getHexHash()
+     */
+    @Override
+    public String getHexHash() {
+        return StringUtil.getHexString( hash );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.jcr.api.Binary#getMimeType()
+     */
+    @Override
+    public String getMimeType() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.modeshape.jcr.api.Binary#getMimeType(java.lang.String)
+     */
+    @Override
+    public String getMimeType( final String name ) {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see javax.jcr.Binary#getSize()
+     */
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see javax.jcr.Binary#getStream()
+     */
+    @Override
+    public InputStream getStream() throws RepositoryException {
+        if ( file == null ) return new ByteArrayInputStream( bytes );
+        try {
+            return Files.newInputStream( file );
+        } catch ( final IOException e ) {
+            throw new RepositoryException( e );
+        }
+    }
+
+    Object invokeObjectMethod( final Object proxy,
+                               final Method method,
+                               final Object[] args ) throws RepositoryException {
+        switch ( method.getName() ) {
+            case "equals":
+                return proxy == args[ 0 ];
+            case "hashCode":
+                return System.identityHashCode( proxy );
+            case "toString":
+                return JcrLexicon.DATA.getString() + " (" + size + " bytes)";
+            default:
+                throw new UnsupportedRepositoryOperationException( method.getName() );
+        }
+    }
+
+    /**
+     * Only the property's value may be read; navigating from it, e.g. to its parent or session, throws
+     * {@link UnsupportedRepositoryOperationException}. It must therefore only be handed to sequencers
+     * {@link ModelTypeImpl#sequencesDetachedInput() known} to read nothing but their input's value.
+     * 
+     * @return a read-only, detached {@link JcrLexicon#DATA jcr:data} property whose value is this binary, suitable as such a
+     *         sequencer's input property; never <code>null</code>.
+     */
+    public Property property() {
+        final Value value = ( Value ) Proxy.newProxyInstance( getClass().getClassLoader(), new Class< ? >[] { Value.class },
+                                                              new InvocationHandler() {
+
+                                                                  @Override
+                                                                  public Object invoke( final Object proxy,
+                                                                                        final Method method,
+                                                                                        final Object[] args ) throws Throwable {
+                                                                      switch ( method.getName() ) {
+                                                                          case "getBinary":
+                                                                              return SpooledBinary.this;
+                                                                          case "getStream":
+                                                                              return getStream();
+                                                                          case "getType":
+                                                                              return PropertyType.BINARY;
+                                                                          default:
+                                                                              return invokeObjectMethod( proxy, method, args );
+                                                                      }
+                                                                  }
+                                                              } );
+        return ( Property ) Proxy.newProxyInstance( getClass().getClassLoader(), new Class< ? >[] { Property.class },
+                                                    new InvocationHandler() {
+
+                                                        @Override
+                                                        public Object invoke( final Object proxy,
+                                                                              final Method method,
+                                                                              final Object[] args ) throws Throwable {
+                                                            switch ( method.getName() ) {
+                                                                case "getBinary":
+                                                                    return SpooledBinary.this;
+                                                                case "getValue":
+                                                                    return value;
+                                                                case "getStream":
+                                                                    return getStream();
+                                                                case "getType":
+                                                                    return PropertyType.BINARY;
+                                                                case "getName":
+                                                                    return JcrLexicon.DATA.getString();
+                                                                case "getLength":
+                                                                    return size;
+                                                                case "isMultiple":
+                                                                    return false;
+                                                                case "isNode":
+                                                                    return false;
+                                                                case "isNew":
+                                                                case "isModified":
+                                                                    return false;
+                                                                default:
+                                                                    return invokeObjectMethod( proxy, method, args );
+                                                            }
+                                                        }
+                                                    } );
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see javax.jcr.Binary#read(byte[], long)
+     */
+    @Override
+    public int read( final byte[] buffer,
+                     final long position ) throws IOException, RepositoryException {
+        if ( position >= size ) return -1;
+        try ( InputStream stream = getStream() ) {
+            long skipped = 0;
+            while ( skipped < position ) {
+                final long count = stream.skip( position - skipped );
+                if ( count <= 0 ) return -1;
+                skipped += count;
+            }
+            int total = 0;
+            while ( total < buffer.length ) {
+                final int count = stream.read( buffer, total, buffer.length - total );
+                if ( count < 0 ) break;
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -24,16 +24,28 @@
 package org.modeshape.modeler;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
 import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.jcr.Node;
 import javax.jcr.Session;
@@ -49,7 +61,7 @@ import org.modeshape.modeler.test.BaseTest;
 @SuppressWarnings( "javadoc" )
 public final class ModelerTest extends BaseTest {
 
-    private static Modeler failingModeler;
+    private static ModeShapeModeler failingModeler;
 
     @BeforeClass
     public static void beforeClass() throws Exception {
@@ -60,6 +72,11 @@ public final class ModelerTest extends BaseTest {
     @Mock
     private ModelType modelType;
 
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToBatchIfBatchNull() throws Exception {
+        failingModeler.batch( null );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailToExportIfFileNull() throws Exception {
         failingModeler.export( mock( Model.class ), ( File ) null );
@@ -105,6 +122,25 @@ public final class ModelerTest extends BaseTest {
         modeler().generateModel( stream( XML_ARTIFACT ), ARTIFACT_NAME, null );
     }
 
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGenerateModelFromStreamIfModelTypeNullAfterFailedBatch() throws Exception {
+        try {
+            modeler().batch( new Batch() {
+
+                @Override
+                public void run( final Modeler modeler ) throws Exception {
+                    try {
+                        modeler.generateModel( stream( XML_ARTIFACT ), ARTIFACT_NAME, null );
+                    } catch ( final IllegalArgumentException expected ) {}
+                    throw new IllegalStateException();
+                }
+            } );
+            fail();
+        } catch ( final IllegalStateException expected ) {}
+        // The temporary folder created by the discarded batch must not be assumed to exist
+        modeler().generateModel( stream( XML_ARTIFACT ), ARTIFACT_NAME, null );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailToGenerateModelFromStreamIfPathEmpty() throws Exception {
         modeler().generateModel( stream( XML_ARTIFACT ), " ", modelType );
@@ -211,6 +247,45 @@ public final class ModelerTest extends BaseTest {
         failingModeler.importArtifact( new URL( "file:doesNotExist" ), null );
     }
 
+    @Test( expected = IllegalStateException.class )
+    public void shouldFailToSetSessionPoolSizeAfterRepositoryAccessed() throws Exception {
+        modeler().setSessionPoolSize( 1 );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToSetSessionPoolSizeIfNotPositive() throws Exception {
+        failingModeler.setSessionPoolSize( 0 );
+    }
+
+    @Test
+    public void shouldGenerateDefaultModel() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final String path = modeler().importArtifact( stream( XML_ARTIFACT ), ARTIFACT_NAME + ".xml" );
+        final Model model = modeler().generateDefaultModel( path, MODEL_NAME );
+        assertThat( model, notNullValue() );
+        assertThat( model.modelType().id(), is( XML_MODEL_TYPE_ID ) );
+    }
+
+    @Test
+    public void shouldGenerateModelsInBatch() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final ModelType type = modelTypeManager().modelType( XML_MODEL_TYPE_ID );
+        modeler().batch( new Batch() {
+
+            @Override
+            public void run( final Modeler modeler ) throws Exception {
+                for ( int ndx = 0; ndx < 3; ndx++ ) {
+                    final String path = modeler.importArtifact( stream( XML_ARTIFACT ), ARTIFACT_NAME + ndx );
+                    modeler.generateModel( path, MODEL_NAME + ndx, type, true );
+                }
+            }
+        } );
+        for ( int ndx = 0; ndx < 3; ndx++ ) {
+            verifyPathExistsWithContent( '/' + ARTIFACT_NAME + ndx );
+            assertThat( modeler().model( MODEL_NAME + ndx ), notNullValue() );
+        }
+    }
+
     @Test
     public void shouldGenerateModelFromFile() throws Exception {
         modelTypeManager().install( "xml" );
@@ -237,6 +312,26 @@ public final class ModelerTest extends BaseTest {
         modeler().generateModel( stream( XML_ARTIFACT ), ARTIFACT_NAME, modelTypeManager().modelType( XML_MODEL_TYPE_ID ) );
     }
 
+    @Test
+    public void shouldGenerateModelFromStreamsConcurrently() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final ModelType type = modelTypeManager().modelType( XML_MODEL_TYPE_ID );
+        final List< Future< Model > > futures = new ArrayList<>();
+        for ( int ndx = 0; ndx < 5; ndx++ )
+            futures.add( modeler().generateModelAsync( stream( XML_ARTIFACT ), MODEL_NAME + ndx, type ) );
+        for ( final Future< Model > future : futures )
+            assertThat( future.get(), notNullValue() );
+        manager().run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                final String tempPath = '/' + ModelerLexicon.TEMP_FOLDER;
+                assertThat( session.nodeExists( tempPath ) && session.getNode( tempPath ).hasNodes(), is( false ) );
+                return null;
+            }
+        } );
+    }
+
     @Test
     public void shouldGenerateModelFromUrl() throws Exception {
         modelTypeManager().install( "xml" );
@@ -265,6 +360,69 @@ public final class ModelerTest extends BaseTest {
         assertThat( model, notNullValue() );
     }
 
+    @Test
+    public void shouldGenerateModelsInParallel() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final ModelType type = modelTypeManager().modelType( XML_MODEL_TYPE_ID );
+        final List< ModelGenerationJob > jobs = new ArrayList<>();
+        for ( int ndx = 0; ndx < 5; ndx++ )
+            jobs.add( new ModelGenerationJob( modeler().importArtifact( stream( XML_ARTIFACT ), ARTIFACT_NAME + ndx ),
+                                              "folder" + ndx + '/' + MODEL_NAME,
+                                              type,
+                                              true ) );
+        jobs.add( new ModelGenerationJob( "doesNotExist", MODEL_NAME, type, true ) );
+        final List< Future< Model > > results = modeler().generateModels( jobs );
+        assertThat( results.size(), is( jobs.size() ) );
+        for ( int ndx = 0; ndx < 5; ndx++ )
+            assertThat( results.get( ndx ).get(), is( modeler().model( "folder" + ndx + '/' + MODEL_NAME ) ) );
+        try {
+            results.get( 5 ).get();
+            fail();
+        } catch ( final ExecutionException expected ) {
+            assertThat( expected.getCause(), instanceOf( IllegalArgumentException.class ) );
+        }
+    }
+
+    @Test
+    public void shouldGenerateModelsInlineFromAsynchronousOperation() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final ModelType type = modelTypeManager().modelType( XML_MODEL_TYPE_ID );
+        final ModeShapeModeler modeler = modeler();
+        final String path = modeler.importArtifact( stream( XML_ARTIFACT ), ARTIFACT_NAME );
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        modeler.setExecutor( executor );
+        try {
+            final List< Future< Model > > nestedResults = new ArrayList<>();
+            // The stream is read by the asynchronous operation's own (and only) executor thread
+            final InputStream stream = new FilterInputStream( stream( XML_ARTIFACT ) ) {
+
+                @Override
+                public int read( final byte[] buffer,
+                                 final int offset,
+                                 final int length ) throws IOException {
+                    if ( nestedResults.isEmpty() ) {
+                        try {
+                            nestedResults.addAll( modeler.generateModels( Collections.singletonList( new ModelGenerationJob( path,
+                                                                                                                             "folder/"
+                                                                                                                             + MODEL_NAME,
+                                                                                                                             type,
+                                                                                                                             true ) ) ) );
+                        } catch ( final ModelerException e ) {
+                            throw new IOException( e );
+                        }
+                    }
+                    return super.read( buffer, offset, length );
+                }
+            };
+            assertThat( modeler.generateModelAsync( stream, MODEL_NAME, type ).get( 30, TimeUnit.SECONDS ), notNullValue() );
+            assertThat( nestedResults.size(), is( 1 ) );
+            assertThat( nestedResults.get( 0 ).isDone(), is( true ) );
+            assertThat( nestedResults.get( 0 ).get(), is( modeler.model( "folder/" + MODEL_NAME ) ) );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldGetChangedModeShapeConfigurationPath() throws Exception {
         assertThat( modeler().modeShapeConfigurationPath(), is( TEST_MODESHAPE_CONFIGURATION_PATH ) );
@@ -303,6 +461,13 @@ public final class ModelerTest extends BaseTest {
         verifyPathExistsWithContent( path );
     }
 
+    @Test
+    public void shouldImportArtifactAsynchronously() throws Exception {
+        final Future< String > future = modeler().importArtifactAsync( stream( "stuff" ), "stuff" );
+        assertThat( future.get(), is( "/stuff" ) );
+        verifyPathExistsWithContent( future.get() );
+    }
+
     @Test
     public void shouldImportArtifactToSuppliedPath() throws Exception {
         final String path = modeler().importArtifact( stream( "stuff" ), "test/stuff" );
@@ -328,6 +493,14 @@ public final class ModelerTest extends BaseTest {
         verifyPathExistsWithContent( path );
     }
 
+    @Test
+    public void shouldRecordExternalLocationIfGenerateModelFromUrl() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final URL url = new URL( "file:src/test/resources/Books.xsd" );
+        final Model model = modeler().generateModel( url, null, modelTypeManager().modelType( XML_MODEL_TYPE_ID ) );
+        assertThat( model.externalLocation().toString(), is( url.toString() ) );
+    }
+
     @Test
     public void shouldRecordExternalLocationIfImportArtifact() throws Exception {
         final URL url = new URL( "File:src/test/resources/Books.xsd" );
@@ -360,6 +533,27 @@ public final class ModelerTest extends BaseTest {
         } );
     }
 
+    @Test
+    public void shouldReuseThreadsPooledSession() throws Exception {
+        final Task< Session > task = new Task< Session >() {
+
+            @Override
+            public Session run( final Session session ) throws Exception {
+                return session;
+            }
+        };
+        final Session session = manager().run( task );
+        manager().run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session pooledSession ) throws Exception {
+                assertThat( pooledSession, is( session ) );
+                assertThat( pooledSession.isLive(), is( true ) );
+                return null;
+            }
+        } );
+    }
+
     private void verifyPathExistsWithContent( final String path ) throws Exception {
         manager().run( new Task< Void >() {
 
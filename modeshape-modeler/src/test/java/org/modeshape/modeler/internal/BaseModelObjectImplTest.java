@@ -32,6 +32,7 @@ import static org.mockito.Mockito.mock;
 import org.junit.Test;
 import org.modeshape.jcr.JcrLexicon;
 import org.modeshape.modeler.ModelObject;
+import org.modeshape.modeler.ModelObjectVisitor;
 import org.modeshape.modeler.test.BaseTest;
 
 @SuppressWarnings( "javadoc" )
@@ -79,6 +80,16 @@ public abstract class BaseModelObjectImplTest extends BaseTest {
         failingModelObject().booleanValues( null );
     }
 
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetChildCountIfNameEmpty() throws Exception {
+        failingModelObject().childCount( " " );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetChildCountIfNameNull() throws Exception {
+        failingModelObject().childCount( null );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailToGetChildIfNameEmpty() throws Exception {
         failingModelObject().child( " " );
@@ -89,6 +100,16 @@ public abstract class BaseModelObjectImplTest extends BaseTest {
         failingModelObject().child( null );
     }
 
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetChildIteratorIfPageSizeNotPositive() throws Exception {
+        failingModelObject().childIterator( 0 );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetChildrenIfLimitNotPositive() throws Exception {
+        failingModelObject().children( 0, 0 );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailToGetChildrenIfNameEmpty() throws Exception {
         failingModelObject().children( " " );
@@ -99,6 +120,11 @@ public abstract class BaseModelObjectImplTest extends BaseTest {
         failingModelObject().children( null );
     }
 
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetChildrenIfOffsetNegative() throws Exception {
+        failingModelObject().children( -1, 1 );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailToGetLongValueIfNonLongProperty() throws Exception {
         modelObject().longValue( JcrLexicon.PRIMARY_TYPE.toString() );
@@ -129,6 +155,21 @@ public abstract class BaseModelObjectImplTest extends BaseTest {
         failingModelObject().longValues( null );
     }
 
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetPropertiesIfNameEmpty() throws Exception {
+        failingModelObject().properties( XML_ROOT_PROPERTY, " " );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetPropertiesIfNameNull() throws Exception {
+        failingModelObject().properties( XML_ROOT_PROPERTY, null );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToGetSnapshotIfDepthNegative() throws Exception {
+        failingModelObject().snapshot( -1 );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailToGetStringValueIfPropertyEmpty() throws Exception {
         failingModelObject().stringValue( " " );
@@ -189,6 +230,16 @@ public abstract class BaseModelObjectImplTest extends BaseTest {
         failingModelObject().propertyHasMultipleValues( null );
     }
 
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToWalkIfDepthNegative() throws Exception {
+        failingModelObject().walk( mock( ModelObjectVisitor.class ), -1 );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldFailToWalkIfVisitorNull() throws Exception {
+        failingModelObject().walk( null, 0 );
+    }
+
     @Test
     public void shouldGetNullValueIfBooleanPropertyNotFound() throws Exception {
         assertThat( modelObject().booleanValue( "bogus" ), nullValue() );
@@ -0,0 +1,199 @@
+/*
+ * Polyglotter (http://polyglotter.org)
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ * See the AUTHORS.txt file in the distribution for a full listing of 
+ * individual contributors.
+ *
+ * Polyglotter is free software. Unless otherwise indicated, all code in Polyglotter
+ * is licensed to you under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * Polyglotter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.modeshape.modeler.internal;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+
+import org.junit.Test;
+
+@SuppressWarnings( "javadoc" )
+public class ClassHeaderTest {
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_SUPER = 0x0020;
+
+    private ClassHeader header( final Class< ? > type ) throws Exception {
+        final String name = type.getName();
+        try ( InputStream stream = type.getResourceAsStream( name.substring( name.lastIndexOf( '.' ) + 1 ) + ".class" ) ) {
+            return ClassHeader.read( stream );
+        }
+    }
+
+    /**
+     * @return a class file, named test.Sample, whose constant pool contains an entry for every tag, with the two-slot long and
+     *         double entries and the invokedynamic and module entries preceding the class entries
+     */
+    private byte[] classFileWithEveryConstantType() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream( bytes );
+        out.writeInt( 0xCAFEBABE );
+        out.writeShort( 0 ); // minor version
+        out.writeShort( 53 ); // major version
+        out.writeShort( 22 ); // constant pool count
+        out.writeByte( 5 ); // #1 Long, occupying #1 and #2
+        out.writeLong( Long.MAX_VALUE );
+        out.writeByte( 6 ); // #3 Double, occupying #3 and #4
+        out.writeDouble( Math.PI );
+        out.writeByte( 18 ); // #5 InvokeDynamic
+        out.writeShort( 0 );
+        out.writeShort( 14 );
+        out.writeByte( 19 ); // #6 Module
+        out.writeShort( 18 );
+        out.writeByte( 20 ); // #7 Package
+        out.writeShort( 18 );
+        out.writeByte( 15 ); // #8 MethodHandle
+        out.writeByte( 6 );
+        out.writeShort( 16 );
+        out.writeByte( 16 ); // #9 MethodType
+        out.writeShort( 20 );
+        out.writeByte( 17 ); // #10 Dynamic
+        out.writeShort( 0 );
+        out.writeShort( 14 );
+        out.writeByte( 3 ); // #11 Integer
+        out.writeInt( Integer.MAX_VALUE );
+        out.writeByte( 4 ); // #12 Float
+        out.writeFloat( Float.MAX_VALUE );
+        out.writeByte( 8 ); // #13 String
+        out.writeShort( 18 );
+        out.writeByte( 12 ); // #14 NameAndType
+        out.writeShort( 18 );
+        out.writeShort( 20 );
+        out.writeByte( 9 ); // #15 Fieldref
+        out.writeShort( 19 );
+        out.writeShort( 14 );
+        out.writeByte( 10 ); // #16 Methodref
+        out.writeShort( 19 );
+        out.writeShort( 14 );
+        out.writeByte( 11 ); // #17 InterfaceMethodref
+        out.writeShort( 21 );
+        out.writeShort( 14 );
+        out.writeByte( 1 ); // #18 Utf8
+        out.writeUTF( "test/Sample" );
+        out.writeByte( 7 ); // #19 Class
+        out.writeShort( 18 );
+        out.writeByte( 1 ); // #20 Utf8
+        out.writeUTF( "java/lang/Object" );
+        out.writeByte( 7 ); // #21 Class
+        out.writeShort( 20 );
+        out.writeShort( ACC_PUBLIC | ACC_SUPER );
+        out.writeShort( 19 ); // this class
+        out.writeShort( 21 ); // super class
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    @Test( expected = IOException.class )
+    public void shouldFailIfNotClassFile() throws Exception {
+        ClassHeader.read( new ByteArrayInputStream( new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 } ) );
+    }
+
+    @Test( expected = IOException.class )
+    public void shouldFailIfUnknownConstantPoolTag() throws Exception {
+        final byte[] bytes = classFileWithEveryConstantType();
+        bytes[ 10 ] = 2; // the first entry's tag; 2 is unused
+        ClassHeader.read( new ByteArrayInputStream( bytes ) );
+    }
+
+    @Test
+    public void shouldReadAbstractClass() throws Exception {
+        final ClassHeader header = header( AbstractClass.class );
+        assertThat( header.name, is( AbstractClass.class.getName() ) );
+        assertThat( header.superName, is( Object.class.getName() ) );
+        assertThat( Modifier.isAbstract( header.accessFlags ), is( true ) );
+        assertThat( header.instantiable(), is( false ) );
+    }
+
+    @Test
+    public void shouldReadClassWithEveryConstantType() throws Exception {
+        final ClassHeader header = ClassHeader.read( new ByteArrayInputStream( classFileWithEveryConstantType() ) );
+        assertThat( header.name, is( "test.Sample" ) );
+        assertThat( header.superName, is( Object.class.getName() ) );
+        assertThat( header.instantiable(), is( true ) );
+    }
+
+    @Test
+    public void shouldReadClassWithLongAndDoubleConstants() throws Exception {
+        final ClassHeader header = header( ConstantsClass.class );
+        assertThat( header.name, is( ConstantsClass.class.getName() ) );
+        assertThat( header.superName, is( ConcreteClass.class.getName() ) );
+        assertThat( header.instantiable(), is( true ) );
+    }
+
+    @Test
+    public void shouldReadInterface() throws Exception {
+        final ClassHeader header = header( Interface.class );
+        assertThat( header.name, is( Interface.class.getName() ) );
+        assertThat( Modifier.isInterface( header.accessFlags ), is( true ) );
+        assertThat( header.instantiable(), is( false ) );
+    }
+
+    @Test
+    public void shouldReadNonPublicClass() throws Exception {
+        final ClassHeader header = header( NonPublicClass.class );
+        assertThat( header.name, is( NonPublicClass.class.getName() ) );
+        assertThat( Modifier.isPublic( header.accessFlags ), is( false ) );
+        assertThat( header.instantiable(), is( false ) );
+    }
+
+    @Test
+    public void shouldReadNullSuperclassOfObject() throws Exception {
+        try ( InputStream stream = Object.class.getResourceAsStream( "Object.class" ) ) {
+            final ClassHeader header = ClassHeader.read( stream );
+            assertThat( header.name, is( Object.class.getName() ) );
+            assertThat( header.superName, nullValue() );
+        }
+    }
+
+    @Test
+    public void shouldReadPublicConcreteClass() throws Exception {
+        final ClassHeader header = header( ConcreteClass.class );
+        assertThat( header.name, is( ConcreteClass.class.getName() ) );
+        assertThat( header.superName, is( Object.class.getName() ) );
+        assertThat( header.instantiable(), is( true ) );
+    }
+
+    public static abstract class AbstractClass {}
+
+    public static class ConcreteClass {}
+
+    public static class ConstantsClass extends ConcreteClass {
+
+        public static final long LONG = Long.MAX_VALUE;
+        public static final double DOUBLE = Math.PI;
+        public static final String STRING = "string";
+    }
+
+    public interface Interface {}
+
+    static class NonPublicClass {}
+}
@@ -32,10 +32,12 @@ import java.net.URL;
 import java.util.Collection;
 
 import javax.jcr.Node;
+import javax.jcr.Property;
 import javax.jcr.Session;
 
 import org.junit.Test;
 import org.modeshape.jcr.JcrLexicon;
+import org.modeshape.jcr.api.sequencer.Sequencer;
 import org.modeshape.modeler.Model;
 import org.modeshape.modeler.ModelObject;
 import org.modeshape.modeler.ModelType;
@@ -59,6 +61,45 @@ public class ModelImplTest extends BaseModelObjectImplTest {
         return dependencyNode;
     }
 
+    @Test
+    public void shouldGenerateModelFromStreamWithSequencerNavigatingFromInput() throws Exception {
+        final ModelTypeImpl type = new ModelTypeImpl( manager(),
+                                                      "navigating",
+                                                      NavigatingSequencer.class.getName(),
+                                                      getClass().getClassLoader(),
+                                                      NavigatingSequencer.class.getName(),
+                                                      null,
+                                                      null,
+                                                      null );
+        final Model model = modeler().generateModel( stream( XML_ARTIFACT ), MODEL_NAME, type );
+        assertThat( model.stringValue( NavigatingSequencer.PARENT_PATH ).endsWith( '/' + JcrLexicon.CONTENT.getString() ), is( true ) );
+    }
+
+    @Test
+    public void shouldGenerateModelFromUrlWithoutSavingTemporaryArtifact() throws Exception {
+        final ModelTypeImpl type = new ModelTypeImpl( manager(),
+                                                      "navigating",
+                                                      NavigatingSequencer.class.getName(),
+                                                      getClass().getClassLoader(),
+                                                      NavigatingSequencer.class.getName(),
+                                                      null,
+                                                      null,
+                                                      null );
+        final Model model = modeler().generateModel( new URL( "file:src/test/resources/Books.xsd" ), null, type );
+        // The temporary artifact is imported, sequenced and removed in the same save that creates the model
+        assertThat( model.stringValue( NavigatingSequencer.ARTIFACT_NEW ), is( "true" ) );
+        assertThat( model.stringValue( ModelerLexicon.EXTERNAL_LOCATION ), is( "file:src/test/resources/Books.xsd" ) );
+        manager().run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                final String tempPath = '/' + ModelerLexicon.TEMP_FOLDER;
+                assertThat( session.nodeExists( tempPath ) && session.getNode( tempPath ).hasNodes(), is( false ) );
+                return null;
+            }
+        } );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailToGetStringValueIfMultiValuedProperty() throws Exception {
         modelObject().stringValue( JcrLexicon.MIXIN_TYPES.toString() );
@@ -341,4 +382,18 @@ public class ModelImplTest extends BaseModelObjectImplTest {
         } );
     }
 
+    public static final class NavigatingSequencer extends Sequencer {
+
+        static final String PARENT_PATH = "parentPath";
+        static final String ARTIFACT_NEW = "artifactNew";
+
+        @Override
+        public boolean execute( final Property inputProperty,
+                                final Node outputNode,
+                                final Context context ) throws Exception {
+            outputNode.setProperty( PARENT_PATH, inputProperty.getParent().getPath() );
+            outputNode.setProperty( ARTIFACT_NEW, inputProperty.getParent().getParent().isNew() );
+            return true;
+        }
+    }
 }
@@ -25,11 +25,26 @@ package org.modeshape.modeler.internal;
 
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.jcr.Node;
+import javax.jcr.Session;
+
 import org.junit.Test;
 import org.modeshape.jcr.JcrLexicon;
 import org.modeshape.modeler.ModelObject;
+import org.modeshape.modeler.ModelObjectSnapshot;
+import org.modeshape.modeler.ModelObjectView;
+import org.modeshape.modeler.ModelObjectVisitor;
+import org.modeshape.modeler.ModelObjectVisitor.Result;
+import org.modeshape.modeler.ModelerException;
 
 @SuppressWarnings( "javadoc" )
 public class ModelObjectImplTest extends BaseModelObjectImplTest {
@@ -44,6 +59,75 @@ public class ModelObjectImplTest extends BaseModelObjectImplTest {
         return super.modelObject().child( XML_ROOT );
     }
     
+    private int walk( final int depth,
+                      final int terminateAfter,
+                      final Result result ) throws Exception {
+        final List< String > paths = new ArrayList<>();
+        modelObject().walk( new ModelObjectVisitor() {
+
+            @Override
+            public Result visit( final ModelObjectView view ) throws Exception {
+                paths.add( view.absolutePath() );
+                return paths.size() == terminateAfter ? Result.TERMINATE : result;
+            }
+        }, depth );
+        return paths.size();
+    }
+    
+    @Test
+    public void shouldEqualModelObjectFromBeforeMove() throws Exception {
+        final ModelObjectImpl modelObject = ( ModelObjectImpl ) modelObject().child( XML_LEAF );
+        modelObject.manager.run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                session.move( modelObject.path, modelObject.path + "Moved" );
+                session.save();
+                return null;
+            }
+        } );
+        final ModelObject movedObject = modelObject().child( XML_LEAF + "Moved" );
+        assertThat( movedObject.equals( modelObject ), is( true ) );
+        assertThat( movedObject.hashCode(), is( modelObject.hashCode() ) );
+        assertThat( modelObject.equals( null ), is( false ) );
+    }
+
+    @Test( expected = ModelerException.class )
+    public void shouldFailIfNodeRemovedAndAnotherCreatedAtItsPath() throws Exception {
+        final ModelObjectImpl modelObject = ( ModelObjectImpl ) modelObject().child( XML_LEAF );
+        modelObject.manager.run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                final Node node = session.getNode( modelObject.path );
+                final Node parent = node.getParent();
+                final String type = node.getPrimaryNodeType().getName();
+                node.remove();
+                parent.addNode( XML_LEAF, type );
+                session.save();
+                return null;
+            }
+        } );
+        assertThat( modelObject().child( XML_LEAF ).equals( modelObject ), is( false ) );
+        modelObject.name();
+    }
+
+    @Test
+    public void shouldFollowNodeIfMoved() throws Exception {
+        final ModelObjectImpl modelObject = ( ModelObjectImpl ) modelObject().child( XML_LEAF );
+        modelObject.manager.run( new Task< Void >() {
+
+            @Override
+            public Void run( final Session session ) throws Exception {
+                session.move( modelObject.path, modelObject.path + "Moved" );
+                session.save();
+                return null;
+            }
+        } );
+        assertThat( modelObject.name(), is( XML_LEAF + "Moved" ) );
+        assertThat( modelObject.modelRelativePath(), is( XML_ROOT + '/' + XML_LEAF + "Moved" ) );
+    }
+    
     @Test
     public void shouldGetAbsolutePath() throws Exception {
         assertThat( modelObject().absolutePath(), is( '/' + MODEL_NAME + '/' + XML_ROOT ) );
@@ -56,6 +140,14 @@ public class ModelObjectImplTest extends BaseModelObjectImplTest {
         assertThat( child.name(), is( XML_LEAF ) );
     }
     
+    @Test
+    public void shouldGetChildCount() throws Exception {
+        assertThat( modelObject().childCount(), is( 3 ) );
+        assertThat( modelObject().childCount( XML_SAME_NAME_SIBLING ), is( 2 ) );
+        assertThat( modelObject().childCount( "bogus" ), is( 0 ) );
+        assertThat( modelObject().child( XML_LEAF ).childCount(), is( 0 ) );
+    }
+    
     @Test
     public void shouldGetChildren() throws Exception {
         ModelObject[] children = modelObject().children();
@@ -66,6 +158,23 @@ public class ModelObjectImplTest extends BaseModelObjectImplTest {
         assertThat( children.length, is( 0 ) );
     }
     
+    @Test
+    public void shouldGetChildrenInPages() throws Exception {
+        ModelObject[] children = modelObject().children( 1, 1 );
+        assertThat( children.length, is( 1 ) );
+        assertThat( children[ 0 ].name(), is( XML_SAME_NAME_SIBLING ) );
+        assertThat( children[ 0 ].index(), is( 0 ) );
+        children = modelObject().children( 2, 5 );
+        assertThat( children.length, is( 1 ) );
+        assertThat( children[ 0 ].index(), is( 1 ) );
+        assertThat( modelObject().children( 3, 1 ).length, is( 0 ) );
+        assertThat( modelObject().children( 4, 1 ).length, is( 0 ) );
+        final List< ModelObject > iterated = new ArrayList<>();
+        for ( final Iterator< ModelObject > iter = modelObject().childIterator( 2 ); iter.hasNext(); )
+            iterated.add( iter.next() );
+        assertThat( iterated, is( Arrays.asList( modelObject().children() ) ) );
+    }
+    
     @Test
     public void shouldGetChildrenMatchingPattern() throws Exception {
         final ModelObject[] children = modelObject().children( XML_SAME_NAME_SIBLING );
@@ -110,12 +219,40 @@ public class ModelObjectImplTest extends BaseModelObjectImplTest {
         assertThat( modelObject().primaryType(), is( "modexml:element" ) );
     }
     
+    @Test
+    public void shouldGetProperties() throws Exception {
+        Map< String, Object > props = modelObject().properties();
+        assertThat( props.size(), is( 1 ) );
+        assertThat( ( String ) props.get( XML_ROOT_PROPERTY ), is( XML_STRING_VALUE ) );
+        props = modelObject().properties( XML_ROOT_PROPERTY, JcrLexicon.PRIMARY_TYPE.toString(), "bogus" );
+        assertThat( props.size(), is( 2 ) );
+        assertThat( ( String ) props.get( JcrLexicon.PRIMARY_TYPE.toString() ), is( "modexml:element" ) );
+        assertThat( props.containsKey( "bogus" ), is( false ) );
+        assertThat( modelObject().child( XML_LEAF ).properties().isEmpty(), is( true ) );
+    }
+    
     @Test
     public void shouldGetPropertyNames() throws Exception {
         assertThat( modelObject().propertyNames().length, is( 1 ) );
         assertThat( modelObject().child( XML_LEAF ).propertyNames().length, is( 0 ) );
     }
     
+    @Test
+    public void shouldGetSnapshot() throws Exception {
+        final ModelObjectSnapshot snapshot = modelObject().snapshot( 1 );
+        assertThat( snapshot.name(), is( XML_ROOT ) );
+        assertThat( snapshot.primaryType(), is( "modexml:element" ) );
+        assertThat( snapshot.mixinTypes().length, is( 0 ) );
+        assertThat( snapshot.propertyNames().length, is( 1 ) );
+        assertThat( ( String ) snapshot.value( XML_ROOT_PROPERTY ), is( XML_STRING_VALUE ) );
+        assertThat( snapshot.children().length, is( 3 ) );
+        final ModelObjectSnapshot[] childSnapshots = snapshot.childSnapshots();
+        assertThat( childSnapshots.length, is( 3 ) );
+        assertThat( childSnapshots[ 2 ].index(), is( 1 ) );
+        assertThat( childSnapshots[ 2 ].childSnapshots(), nullValue() );
+        assertThat( modelObject().snapshot().childSnapshots(), nullValue() );
+    }
+    
     @Test
     public void shouldGetStringValue() throws Exception {
         assertThat( modelObject().stringValue( XML_ROOT_PROPERTY ), is( XML_STRING_VALUE ) );
@@ -158,4 +295,29 @@ public class ModelObjectImplTest extends BaseModelObjectImplTest {
         assertThat( modelObject().propertyHasMultipleValues( JcrLexicon.MIXIN_TYPES.toString() ), is( false ) );
         assertThat( modelObject().propertyHasMultipleValues( "bogus" ), is( false ) );
     }
+    
+    @Test
+    public void shouldWalk() throws Exception {
+        assertThat( walk( 0, -1, Result.CONTINUE ), is( 1 ) );
+        assertThat( walk( 1, -1, Result.CONTINUE ), is( 4 ) );
+        assertThat( walk( 1, 2, Result.CONTINUE ), is( 2 ) );
+        assertThat( walk( 1, -1, Result.SKIP_CHILDREN ), is( 1 ) );
+        final ModelObject[] objs = new ModelObject[ 1 ];
+        assertThat( modelObject().walk( new ModelObjectVisitor() {
+
+            @Override
+            public Result visit( final ModelObjectView view ) throws Exception {
+                if ( view.depth() == 0 ) {
+                    assertThat( view.name(), is( XML_ROOT ) );
+                    assertThat( ( String ) view.value( XML_ROOT_PROPERTY ), is( XML_STRING_VALUE ) );
+                    return Result.CONTINUE;
+                }
+                if ( view.index() == 0 ) return Result.CONTINUE;
+                objs[ 0 ] = view.modelObject();
+                return Result.TERMINATE;
+            }
+        }, 1 ), is( false ) );
+        assertThat( objs[ 0 ].name(), is( XML_SAME_NAME_SIBLING ) );
+        assertThat( objs[ 0 ].index(), is( 1 ) );
+    }
 }
@@ -28,20 +28,42 @@ import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 import javax.jcr.Node;
+import javax.jcr.NodeIterator;
 import javax.jcr.Repository;
+import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Value;
+import javax.jcr.observation.Event;
+import javax.jcr.observation.EventIterator;
+import javax.jcr.observation.EventListener;
 
 import org.junit.Test;
 import org.modeshape.modeler.ModeShapeModeler;
 import org.modeshape.modeler.ModelType;
 import org.modeshape.modeler.ModelTypeManager;
 import org.modeshape.modeler.Modeler;
+import org.modeshape.modeler.ModelerException;
 import org.modeshape.modeler.TestUtil;
 import org.modeshape.modeler.test.BaseTest;
 
@@ -52,6 +74,88 @@ public class ModelTypeManagerImplTest extends BaseTest {
         return new ModelTypeManagerImpl( mock( Manager.class ) );
     }
 
+    @Test
+    public void shouldCacheVerifiedArchive() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final String archiveName = modelTypeManager().archiveName( XML_MODEL_TYPE_CATEGORY );
+        final Path archive = modelTypeManager().archiveCache().resolve( archiveName );
+        assertThat( Files.exists( archive ), is( true ) );
+        assertThat( Files.exists( archive.resolveSibling( archiveName + ".part" ) ), is( false ) );
+        modelTypeManager().uninstall( XML_MODEL_TYPE_CATEGORY );
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        assertThat( modelTypeManager().modelType( XML_MODEL_TYPE_ID ), notNullValue() );
+    }
+
+    @Test
+    public void shouldAddSharedJarsToSharedClassLoader() throws Exception {
+        modelTypeManager().install( "java" );
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        manager().run( modelTypeManager(), new SystemTask< Void >() {
+
+            @Override
+            public Void run( final Session session,
+                             final Node systemNode ) throws Exception {
+                final List< URL > sharedUrls = Arrays.asList( modelTypeManager().sharedClassLoader.getURLs() );
+                for ( final NodeIterator iter = systemNode.getNode( ModelerLexicon.JARS ).getNodes(); iter.hasNext(); ) {
+                    final Node node = iter.nextNode();
+                    final URL url = modelTypeManager().library.resolve( node.getName() + ".jar" ).toUri().toURL();
+                    final Set< String > categories = ModelTypeManagerImpl.categories( node );
+                    assertThat( sharedUrls.contains( url ), is( categories.size() > 1 ) );
+                    for ( final String category : categories )
+                        assertThat( Arrays.asList( modelTypeManager().classLoadersByCategory.get( category ).getURLs() ).contains( url ),
+                                    is( categories.size() == 1 ) );
+                }
+                return null;
+            }
+        } );
+        final ClassLoader classLoader = modelTypeManager().classLoadersByCategory.get( "java" );
+        assertThat( classLoader.getParent(), is( ( ClassLoader ) modelTypeManager().sharedClassLoader ) );
+        assertThat( classLoader.getParent().getParent(), is( ModelTypeManagerImpl.class.getClassLoader() ) );
+    }
+
+    @Test
+    public void shouldDiscardCategoryClassLoaderWhenUninstalled() throws Exception {
+        modelTypeManager().install( "java" );
+        final ModelTypeImpl type = ( ModelTypeImpl ) modelTypeManager().modelTypesForCategory( "java" )[ 0 ];
+        assertThat( type.sequencerClass().getClassLoader(),
+                    is( ( ClassLoader ) modelTypeManager().classLoadersByCategory.get( "java" ) ) );
+        modelTypeManager().uninstall( "java" );
+        assertThat( modelTypeManager().classLoadersByCategory.containsKey( "java" ), is( false ) );
+    }
+
+    @Test
+    public void shouldExtractEachJarOfArchiveIntoLibrary() throws Exception {
+        final ModelTypeManagerImpl modelTypeManager = modelTypeManager();
+        modelTypeManager.install( "xsd" );
+        final Set< String > jarFileNames = new HashSet<>();
+        manager().run( modelTypeManager, new SystemTask< Void >() {
+
+            @Override
+            public Void run( final Session session,
+                             final Node systemNode ) throws Exception {
+                for ( final NodeIterator iter = systemNode.getNode( ModelerLexicon.JARS ).getNodes(); iter.hasNext(); ) {
+                    final Node node = iter.nextNode();
+                    jarFileNames.add( node.getName() + ".jar" );
+                    assertThat( ModelTypeManagerImpl.sha1( modelTypeManager.library.resolve( node.getName() + ".jar" ) ),
+                                is( node.getName() ) );
+                    assertThat( node.getProperty( ModelerLexicon.FILE_NAME ).getString().endsWith( ".jar" ), is( true ) );
+                }
+                final Value[] vals = systemNode.getProperty( ModelerLexicon.ZIPS ).getValues();
+                assertThat( vals.length, is( 1 ) );
+                assertThat( vals[ 0 ].getString(), is( modelTypeManager.archiveName( "xsd" ) ) );
+                return null;
+            }
+        } );
+        assertThat( jarFileNames.size(), is( 7 ) );
+        // Every jar in the archive, and nothing else, such as partially extracted jars, should be in the library
+        final Set< String > libraryFileNames = new HashSet<>();
+        try ( DirectoryStream< Path > stream = Files.newDirectoryStream( modelTypeManager.library ) ) {
+            for ( final Path path : stream )
+                libraryFileNames.add( path.getFileName().toString() );
+        }
+        assertThat( libraryFileNames, is( jarFileNames ) );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void shouldFailToGetApplicableModelTypesIfPathIsEmpty() throws Exception {
         failingModelTypeManager().modelTypesForArtifact( " " );
@@ -192,12 +296,43 @@ public class ModelTypeManagerImplTest extends BaseTest {
         assertThat( modelTypeManager().modelTypeCategories()[ 0 ], is( "java" ) );
     }
 
+    @Test
+    public void shouldGetModelTypesForCategory() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final ModelType[] types = modelTypeManager().modelTypesForCategory( XML_MODEL_TYPE_CATEGORY );
+        assertThat( types.length, not( 0 ) );
+        for ( final ModelType type : types )
+            assertThat( modelTypeManager().modelType( type.id() ), is( type ) );
+        modelTypeManager().uninstall( XML_MODEL_TYPE_CATEGORY );
+        assertThat( modelTypeManager().modelTypesForCategory( XML_MODEL_TYPE_CATEGORY ).length, is( 0 ) );
+        assertThat( modelTypeManager().modelType( XML_MODEL_TYPE_ID ), nullValue() );
+    }
+
     @Test
     public void shouldGetNullDefaultModelTypeIfFileHasUknownMimeType() throws Exception {
         final String path = modeler().importArtifact( stream( "stuff" ), ARTIFACT_NAME );
         assertThat( modelTypeManager().defaultModelType( path ), nullValue() );
     }
 
+    @Test
+    public void shouldGetSourceFileExtensionsFromSequencer() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        assertThat( modelTypeManager().modelType( XML_MODEL_TYPE_ID ).sourceFileExtensions(), is( new String[] { "xml" } ) );
+        modelTypeManager().install( "java" );
+        for ( final ModelType type : modelTypeManager().modelTypesForCategory( "java" ) )
+            assertThat( Arrays.asList( type.sourceFileExtensions() ).contains( "java" )
+                        == ( ( ModelTypeImpl ) type ).sequencerClassName().endsWith( ".JavaFileSequencer" ), is( true ) );
+    }
+
+    @Test
+    public void shouldInstallFromNextRepositoryIfRepositoryUnreachable() throws Exception {
+        // Registered before the test repository, with nothing listening on port 1, so the connection is refused
+        final ModelTypeManagerImpl modelTypeManager = modelTypeManager();
+        modelTypeManager.registerModelTypeRepository( new URL( "http://localhost:1/" ) );
+        modelTypeManager.install( XML_MODEL_TYPE_CATEGORY );
+        assertThat( modelTypeManager.modelType( XML_MODEL_TYPE_ID ), notNullValue() );
+    }
+
     @Test
     public void shouldInstallModelTypes() throws Exception {
         final String[] potentialSequencerClassNames = modelTypeManager().install( "java" );
@@ -205,7 +340,105 @@ public class ModelTypeManagerImplTest extends BaseTest {
         assertThat( modelTypeManager().modelTypes().length == 0, is( false ) );
         final ModelTypeImpl type = ( ModelTypeImpl ) modelTypeManager().modelTypes()[ 0 ];
         assertThat( type.category(), is( "java" ) );
-        assertThat( type.sequencerClass, notNullValue() );
+        assertThat( type.sequencerClass(), notNullValue() );
+    }
+
+    @Test
+    public void shouldInstallMultipleModelTypeCategories() throws Exception {
+        assertThat( modelTypeManager().install( "sramp", "xsd" ).length, is( 0 ) );
+        assertThat( modelTypeManager().modelTypesForCategory( "sramp" ).length, not( 0 ) );
+        assertThat( modelTypeManager().modelTypesForCategory( "xsd" ).length, not( 0 ) );
+        manager().run( modelTypeManager(), new SystemTask< Void >() {
+
+            @Override
+            public Void run( final Session session,
+                             final Node systemNode ) throws Exception {
+                assertThat( systemNode.getProperty( ModelerLexicon.ZIPS ).getValues().length, is( 2 ) );
+                return null;
+            }
+        } );
+    }
+
+    @Test
+    public void shouldInstallModelTypeCategoryAfterFailedInstallation() throws Exception {
+        try {
+            modelTypeManager().install( XML_MODEL_TYPE_CATEGORY, "bogus" );
+        } catch ( final IllegalArgumentException expected ) {}
+        try ( DirectoryStream< Path > stream = Files.newDirectoryStream( modelTypeManager().library, "*.jar" ) ) {
+            assertThat( stream.iterator().hasNext(), is( false ) );
+        }
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        assertThat( modelTypeManager().modelType( XML_MODEL_TYPE_ID ), notNullValue() );
+    }
+
+    @Test
+    public void shouldKeepLibraryAfterClose() throws Exception {
+        modelTypeManager().install( "java" );
+        final Path library = modelTypeManager().library;
+        assertThat( library.startsWith( TEST_REPOSITORY_STORE_PARENT_PATH ), is( true ) );
+        modeler().close();
+        try ( DirectoryStream< Path > stream = Files.newDirectoryStream( library, "*.jar" ) ) {
+            assertThat( stream.iterator().hasNext(), is( true ) );
+        }
+    }
+
+    @Test
+    public void shouldLeaveNoTraceOfInstallationIfJarExtractionFails() throws Exception {
+        final ModelTypeManagerImpl modelTypeManager = modelTypeManager();
+        final Manager manager = manager();
+        final String archiveName = modelTypeManager.archiveName( XML_MODEL_TYPE_CATEGORY );
+        final String prefix = "modeshape-sequencer-" + XML_MODEL_TYPE_CATEGORY;
+        final String version =
+            archiveName.substring( prefix.length() + 1, archiveName.length() - "-module-with-dependencies.zip".length() );
+        // Cache a copy of the archive whose sequencer jar is corrupt, so it fails to be scanned while the archive's other jar is
+        // extracted
+        final Path cache = Files.createTempDirectory( null );
+        try ( ZipFile archive = new ZipFile( "src/test/resources/org/modeshape/" + prefix + '/' + version + '/' + archiveName );
+              ZipOutputStream out = new ZipOutputStream( Files.newOutputStream( cache.resolve( archiveName ) ) ) ) {
+            for ( final Enumeration< ? extends ZipEntry > iter = archive.entries(); iter.hasMoreElements(); ) {
+                final ZipEntry entry = iter.nextElement();
+                out.putNextEntry( new ZipEntry( entry.getName() ) );
+                if ( entry.getName().equals( prefix + '/' + prefix + '-' + version + ".jar" ) ) out.write( "corrupt".getBytes() );
+                else try ( InputStream stream = archive.getInputStream( entry ) ) {
+                    final byte[] buf = new byte[ 8192 ];
+                    for ( int len = stream.read( buf ); len >= 0; len = stream.read( buf ) )
+                        out.write( buf, 0, len );
+                }
+                out.closeEntry();
+            }
+        }
+        System.setProperty( ModelTypeManagerImpl.ARCHIVE_CACHE_PATH_PROPERTY, cache.toString() );
+        try {
+            modelTypeManager.install( XML_MODEL_TYPE_CATEGORY );
+            fail();
+        } catch ( final ModelerException expected ) {} finally {
+            System.clearProperty( ModelTypeManagerImpl.ARCHIVE_CACHE_PATH_PROPERTY );
+            try ( DirectoryStream< Path > stream = Files.newDirectoryStream( cache ) ) {
+                for ( final Path path : stream )
+                    Files.delete( path );
+            }
+            Files.delete( cache );
+        }
+        try ( DirectoryStream< Path > stream = Files.newDirectoryStream( modelTypeManager.library ) ) {
+            assertThat( stream.iterator().hasNext(), is( false ) );
+        }
+        manager.run( modelTypeManager, new SystemTask< Void >() {
+
+            @Override
+            public Void run( final Session session,
+                             final Node systemNode ) throws Exception {
+                assertThat( systemNode.getNode( ModelerLexicon.JARS ).hasNodes(), is( false ) );
+                assertThat( systemNode.getNode( ModelerLexicon.MODEL_TYPES ).hasNodes(), is( false ) );
+                assertThat( !systemNode.hasProperty( ModelerLexicon.ZIPS )
+                            || systemNode.getProperty( ModelerLexicon.ZIPS ).getValues().length == 0, is( true ) );
+                return null;
+            }
+        } );
+        assertThat( modelTypeManager.modelTypes().length, is( 0 ) );
+        assertThat( modelTypeManager.potentialSequencerClassNamesByCategory.isEmpty(), is( true ) );
+        assertThat( modelTypeManager.classLoadersByCategory.containsKey( XML_MODEL_TYPE_CATEGORY ), is( false ) );
+        modelTypeManager.install( XML_MODEL_TYPE_CATEGORY );
+        assertThat( modelTypeManager.modelType( XML_MODEL_TYPE_ID ), notNullValue() );
     }
 
     @Test
@@ -225,7 +458,7 @@ public class ModelTypeManagerImplTest extends BaseTest {
             final ModelTypeManagerImpl modelTypeManager = ( ModelTypeManagerImpl ) modeler.modelTypeManager();
             assertThat( modelTypeManager.modelTypeRepositories().length, not( repos ) );
             assertThat( modelTypeManager.modelTypes().length == 0, is( false ) );
-            assertThat( modelTypeManager.libraryClassLoader.getURLs().length > 0, is( true ) );
+            assertThat( modelTypeManager.classLoadersByCategory.get( "java" ).getURLs().length > 0, is( true ) );
             assertThat( modelTypeManager.potentialSequencerClassNamesByCategory.isEmpty(), is( false ) );
             TestUtil.manager( modeler ).run( modelTypeManager, new SystemTask< Void >() {
 
@@ -239,6 +472,60 @@ public class ModelTypeManagerImplTest extends BaseTest {
         }
     }
 
+    @Test
+    public void shouldLoadStateSavedWithJarsNamedByFileName() throws Exception {
+        modeler().close();
+        try ( ModeShapeModeler modeler = new ModeShapeModeler( TEST_REPOSITORY_STORE_PARENT_PATH ) ) {
+            final ModelTypeManagerImpl modelTypeManager = ( ModelTypeManagerImpl ) modeler.modelTypeManager();
+            for ( final URL url : modelTypeManager.modelTypeRepositories() )
+                modelTypeManager.unregisterModelTypeRepository( url );
+            modelTypeManager.registerModelTypeRepository( MODEL_TYPE_REPOSITORY );
+            modelTypeManager.install( "java" );
+            // Revert the jars to the layout saved by earlier modelers
+            TestUtil.manager( modeler ).run( modelTypeManager, new SystemTask< Void >() {
+
+                @Override
+                public Void run( final Session session,
+                                 final Node systemNode ) throws Exception {
+                    final Node jarsNode = systemNode.getNode( ModelerLexicon.JARS );
+                    for ( final NodeIterator iter = jarsNode.getNodes(); iter.hasNext(); ) {
+                        final Node node = iter.nextNode();
+                        final String fileName = node.getProperty( ModelerLexicon.FILE_NAME ).getString();
+                        session.move( node.getPath(), jarsNode.getPath() + '/' + fileName );
+                        node.setProperty( ModelerLexicon.CATEGORY, "java" );
+                        node.getProperty( ModelerLexicon.CATEGORIES ).remove();
+                        node.getProperty( ModelerLexicon.FILE_NAME ).remove();
+                    }
+                    session.save();
+                    return null;
+                }
+            } );
+        }
+        try ( ModeShapeModeler modeler = new ModeShapeModeler( TEST_REPOSITORY_STORE_PARENT_PATH ) ) {
+            final ModelTypeManagerImpl modelTypeManager = ( ModelTypeManagerImpl ) modeler.modelTypeManager();
+            final ModelTypeImpl type = ( ModelTypeImpl ) modelTypeManager.modelTypesForCategory( "java" )[ 0 ];
+            assertThat( type.sequencerClass(), notNullValue() );
+            TestUtil.manager( modeler ).run( modelTypeManager, new SystemTask< Void >() {
+
+                @Override
+                public Void run( final Session session,
+                                 final Node systemNode ) throws Exception {
+                    final NodeIterator iter = systemNode.getNode( ModelerLexicon.JARS ).getNodes();
+                    assertThat( iter.hasNext(), is( true ) );
+                    while ( iter.hasNext() ) {
+                        final Node node = iter.nextNode();
+                        assertThat( node.hasProperty( ModelerLexicon.CATEGORY ), is( false ) );
+                        assertThat( node.getProperty( ModelerLexicon.FILE_NAME ).getString().endsWith( ".jar" ), is( true ) );
+                        assertThat( ModelTypeManagerImpl.categories( node ).contains( "java" ), is( true ) );
+                        final Path jarPath = modelTypeManager.library.resolve( node.getName() + ".jar" );
+                        assertThat( ModelTypeManagerImpl.sha1( jarPath ), is( node.getName() ) );
+                    }
+                    return null;
+                }
+            } );
+        }
+    }
+
     @Test
     public void shouldMoveModelTypeRepositoryDown() throws Exception {
         modeler().close();
@@ -324,6 +611,114 @@ public class ModelTypeManagerImplTest extends BaseTest {
         assertThat( repos[ 0 ], is( url ) );
     }
 
+    @Test
+    public void shouldReuseInitializedSequencer() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        final ModelTypeImpl type = ( ModelTypeImpl ) modelTypeManager().modelType( XML_MODEL_TYPE_ID );
+        assertThat( type.sequencer(), is( type.sequencer() ) );
+    }
+
+    @Test
+    public void shouldSaveInstallationOnce() throws Exception {
+        // Obtain the manager before listening, since doing so re-registers the test model type repository
+        final ModelTypeManagerImpl modelTypeManager = modelTypeManager();
+        final Manager manager = manager();
+        final String[] workspaceAndPath = manager.run( modelTypeManager, new SystemTask< String[] >() {
+
+            @Override
+            public String[] run( final Session session,
+                                 final Node systemNode ) throws Exception {
+                return new String[] { session.getWorkspace().getName(), systemNode.getPath() };
+            }
+        } );
+        final Session session = manager.repository().login( workspaceAndPath[ 0 ] );
+        try {
+            final AtomicInteger saves = new AtomicInteger();
+            final CountDownLatch marked = new CountDownLatch( 1 );
+            // Each save is observed as a single bundle of events
+            final EventListener listener = new EventListener() {
+
+                @Override
+                public void onEvent( final EventIterator events ) {
+                    try {
+                        while ( events.hasNext() )
+                            if ( events.nextEvent().getPath().endsWith( ModelerLexicon.MODEL_TYPE_REPOSITORIES ) ) {
+                                marked.countDown();
+                                return;
+                            }
+                    } catch ( final RepositoryException e ) {
+                        throw new RuntimeException( e );
+                    }
+                    saves.incrementAndGet();
+                }
+            };
+            session.getWorkspace().getObservationManager().addEventListener( listener,
+                                                                             Event.NODE_ADDED | Event.NODE_REMOVED
+                                                                                 | Event.PROPERTY_ADDED | Event.PROPERTY_CHANGED
+                                                                                 | Event.PROPERTY_REMOVED,
+                                                                             workspaceAndPath[ 1 ],
+                                                                             true,
+                                                                             null,
+                                                                             null,
+                                                                             false );
+            modelTypeManager.install( XML_MODEL_TYPE_CATEGORY );
+            // Follow the installation with a save of its own, so all of the installation's events have been observed once it is
+            modelTypeManager.registerModelTypeRepository( new URL( "file:marker/" ) );
+            assertThat( marked.await( 10, TimeUnit.SECONDS ), is( true ) );
+            assertThat( saves.get(), is( 1 ) );
+        } finally {
+            session.logout();
+        }
+    }
+
+    @Test
+    public void shouldSaveMimeTypesWhenInstalled() throws Exception {
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        manager().run( modelTypeManager(), new SystemTask< Void >() {
+
+            @Override
+            public Void run( final Session session,
+                             final Node systemNode ) throws Exception {
+                assertThat( systemNode.getNode( ModelerLexicon.MODEL_TYPES ).getNode( XML_MODEL_TYPE_ID )
+                                      .hasProperty( ModelerLexicon.MIME_TYPES ), is( true ) );
+                return null;
+            }
+        } );
+    }
+
+    @Test
+    public void shouldShareJarsContainingClassesOfAnotherCategory() throws Exception {
+        modelTypeManager().install( "sramp", "xsd" );
+        ModelTypeImpl type = ( ModelTypeImpl ) modelTypeManager().modelTypesForCategory( "xsd" )[ 0 ];
+        assertThat( type.sequencerClass().getSuperclass().getClassLoader(),
+                    is( ( ClassLoader ) modelTypeManager().sharedClassLoader ) );
+        modelTypeManager().uninstall( "sramp" );
+        type = ( ModelTypeImpl ) modelTypeManager().modelTypesForCategory( "xsd" )[ 0 ];
+        assertThat( type.sequencerClass(), notNullValue() );
+    }
+
+    @Test
+    public void shouldShareJarsCommonToCategories() throws Exception {
+        modelTypeManager().install( "java" );
+        modelTypeManager().install( XML_MODEL_TYPE_CATEGORY );
+        modelTypeManager().uninstall( XML_MODEL_TYPE_CATEGORY );
+        manager().run( modelTypeManager(), new SystemTask< Void >() {
+
+            @Override
+            public Void run( final Session session,
+                             final Node systemNode ) throws Exception {
+                final NodeIterator iter = systemNode.getNode( ModelerLexicon.JARS ).getNodes();
+                assertThat( iter.hasNext(), is( true ) );
+                while ( iter.hasNext() ) {
+                    final Node node = iter.nextNode();
+                    assertThat( ModelTypeManagerImpl.categories( node ).contains( "java" ), is( true ) );
+                    assertThat( Files.exists( modelTypeManager().library.resolve( node.getName() + ".jar" ) ), is( true ) );
+                }
+                return null;
+            }
+        } );
+    }
+
     @Test
     public void shouldUninstall() throws Exception {
         assertThat( modelTypeManager().install( "java" ).length, is( 0 ) );
@@ -385,4 +780,19 @@ public class ModelTypeManagerImplTest extends BaseTest {
         assertThat( repos, notNullValue() );
         assertThat( repos.length, is( size ) );
     }
+
+    @Test
+    public void shouldUseCachedInstallableModelTypeCategoriesIfRepositoryUnavailable() throws Exception {
+        final Path repository = Files.createTempDirectory( null );
+        final Path group = Files.createDirectories( repository.resolve( "org/modeshape" ) );
+        final Path category = Files.createDirectory( group.resolve( "modeshape-sequencer-test" ) );
+        modelTypeManager().registerModelTypeRepository( repository.toUri().toURL() );
+        assertThat( Arrays.asList( modelTypeManager().installableModelTypeCategories() ).contains( "test" ), is( true ) );
+        Files.delete( category );
+        Files.delete( group );
+        Files.delete( group.getParent() );
+        Files.delete( repository );
+        assertThat( Arrays.asList( modelTypeManager().installableModelTypeCategories() ).contains( "test" ), is( true ) );
+        assertThat( Arrays.asList( modelTypeManager().refreshInstallableModelTypeCategories() ).contains( "test" ), is( true ) );
+    }
 }